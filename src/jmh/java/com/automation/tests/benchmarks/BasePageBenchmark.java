@@ -0,0 +1,147 @@
+package com.automation.tests.benchmarks;
+
+import com.automation.tests.driver.DriverManager;
+import com.automation.tests.pages.DashboardPage;
+import com.automation.tests.pages.ForgotPasswordPage;
+import com.automation.tests.pages.LoginPage;
+import org.openqa.selenium.WebElement;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+
+/**
+ * Latency of the BasePage primitives against headless Chrome and a loopback fixture page.
+ * Instrumentation (metrics decorator, command budgets) and browser pre-starting are switched off
+ * so the numbers show the primitives themselves; page objects run against the embedded login app.
+ */
+@State(Scope.Benchmark)
+public class BasePageBenchmark {
+
+    private FixtureServer fixtures;
+    private String fixtureUrl;
+    private FixturePage page;
+    private BindableLoginPage loginPage;
+    private BindableDashboardPage dashboardPage;
+    private BindableForgotPasswordPage forgotPasswordPage;
+
+    @Setup(Level.Trial)
+    public void startBrowser() {
+        System.setProperty("env", "local");
+        System.setProperty("ui.headless", "true");
+        System.setProperty("ui.provision.size", "0");
+        System.setProperty("ui.metrics.enabled", "false");
+        System.setProperty("ui.budget.enabled", "false");
+        fixtures = new FixtureServer();
+        fixtureUrl = fixtures.url("primitives.html");
+
+        loginPage = new BindableLoginPage();
+        loginPage.navigateToLoginPage();
+        dashboardPage = new BindableDashboardPage();
+        loginPage.open("/forgot_password");
+        forgotPasswordPage = new BindableForgotPasswordPage();
+
+        page = new FixturePage();
+        page.open(fixtureUrl);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopBrowser() {
+        DriverManager.quitDriver();
+        fixtures.close();
+    }
+
+    @Benchmark
+    public void open() {
+        page.open(fixtureUrl);
+    }
+
+    @Benchmark
+    public void waitForPageLoad() {
+        page.pageLoad();
+    }
+
+    @Benchmark
+    public void click() {
+        page.clickPlain();
+    }
+
+    @Benchmark
+    public void clickJsFallback() {
+        page.clickCovered();
+    }
+
+    @Benchmark
+    public void type() {
+        page.typeName("benchmark");
+    }
+
+    @Benchmark
+    public WebElement visible() {
+        return page.visibleTitle();
+    }
+
+    @Benchmark
+    public boolean displayedPresent() {
+        return page.displayedTitle();
+    }
+
+    @Benchmark
+    public boolean displayedAbsent() {
+        return page.displayedMissing();
+    }
+
+    @Benchmark
+    public List<String> textsOfElements() {
+        return page.itemTexts();
+    }
+
+    @Benchmark
+    public List<String> textsByLocator() {
+        return page.itemTextsBy();
+    }
+
+    // Re-binding @FindBy fields the way page constructors do (cached PageMetadata, caching locators)
+    @Benchmark
+    public void initElementsLoginPage() {
+        loginPage.bind();
+    }
+
+    @Benchmark
+    public void initElementsDashboardPage() {
+        dashboardPage.bind();
+    }
+
+    @Benchmark
+    public void initElementsForgotPasswordPage() {
+        forgotPasswordPage.bind();
+    }
+
+    // Page transition cost without the page's own round trips: shared tooling + cached @FindBy metadata
+    @Benchmark
+    public LoginPage newLoginPage() {
+        return new LoginPage();
+    }
+
+    @Benchmark
+    public DashboardPage newDashboardPage() {
+        return new DashboardPage();
+    }
+
+    /* initElements() is protected: these expose it without changing the pages' fields */
+    static final class BindableLoginPage extends LoginPage {
+        void bind() { initElements(); }
+    }
+
+    static final class BindableDashboardPage extends DashboardPage {
+        void bind() { initElements(); }
+    }
+
+    static final class BindableForgotPasswordPage extends ForgotPasswordPage {
+        void bind() { initElements(); }
+    }
+}
@@ -0,0 +1,35 @@
+package com.automation.tests.benchmarks;
+
+import com.automation.tests.pages.base.BasePage;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+
+import java.util.List;
+
+/** Page object for {@code primitives.html} that exposes the protected BasePage helpers to the benchmarks. */
+public class FixturePage extends BasePage {
+
+    static final By TITLE   = By.id("title");
+    static final By MISSING = By.id("does-not-exist");
+    static final By ITEMS   = By.cssSelector("#items li");
+
+    @FindBy(id = "name")    private WebElement nameField;
+    @FindBy(id = "plain")   private WebElement plainButton;
+    @FindBy(id = "covered") private WebElement coveredButton;
+    @FindBy(css = "#items li") private List<WebElement> items;
+
+    public FixturePage() {
+        initElements();
+    }
+
+    void clickPlain()                 { click(plainButton); }
+    void clickCovered()               { click(coveredButton); }
+    void typeName(String text)        { type(nameField, text); }
+    WebElement visibleTitle()         { return visible(TITLE); }
+    boolean displayedTitle()          { return displayed(TITLE); }
+    boolean displayedMissing()        { return displayed(MISSING); }
+    List<String> itemTexts()          { return texts(items); }
+    List<String> itemTextsBy()        { return texts(ITEMS); }
+    void pageLoad()                   { waitForPageLoad(); }
+}
@@ -0,0 +1,52 @@
+package com.automation.tests.benchmarks;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+/**
+ * Serves {@code /fixtures/*.html} from the jmh classpath on a free loopback port,
+ * so benchmarks measure the framework and the browser, not the network.
+ */
+final class FixtureServer implements AutoCloseable {
+    private final HttpServer server;
+
+    FixtureServer() {
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start fixture server", e);
+        }
+        server.createContext("/fixtures/", exchange -> {
+            try (InputStream in = FixtureServer.class.getResourceAsStream(exchange.getRequestURI().getPath())) {
+                if (in == null) {
+                    exchange.sendResponseHeaders(404, -1);
+                    return;
+                }
+                byte[] body = in.readAllBytes();
+                exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+    }
+
+    String url(String fixture) {
+        return "http://localhost:" + server.getAddress().getPort() + "/fixtures/" + fixture;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
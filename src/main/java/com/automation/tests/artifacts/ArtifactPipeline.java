@@ -0,0 +1,215 @@
+package com.automation.tests.artifacts;
+
+import com.automation.tests.config.ConfigManager;
+import org.openqa.selenium.logging.LogEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes failure artifacts off the scenario thread.
+ * - Bounded: {@code ui.artifacts.threads} writers and a queue of {@code ui.artifacts.queue}; when it is full the
+ *   scenario thread writes its own artifacts, so a mass failure slows teardown down instead of piling up memory
+ * - Decodes screenshots, serializes page source and console, stores each file once by content
+ *   ({@code .blobs/<sha-256>}) and hard-links it into the scenario's directory under {@code ui.artifacts.dir}
+ * - {@link #drain()} waits for everything queued so far; a shutdown hook drains at JVM exit
+ */
+public final class ArtifactPipeline {
+    private static final Logger log = LoggerFactory.getLogger(ArtifactPipeline.class);
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final Path ROOT = Paths.get(config.getProperty("ui.artifacts.dir", "build/reports/artifacts")).toAbsolutePath();
+    private static final Path BLOBS = ROOT.resolve(".blobs");
+    private static final Map<String, Path> blobs = new ConcurrentHashMap<>();
+    private static final Queue<CompletableFuture<Void>> pending = new ConcurrentLinkedQueue<>();
+    private static final LongAdder submitted = new LongAdder();
+    private static final LongAdder files = new LongAdder();
+    private static final LongAdder duplicates = new LongAdder();
+    private static final LongAdder ranOnCaller = new LongAdder();
+    private static final LongAdder failed = new LongAdder();
+    private static final ThreadPoolExecutor executor = createExecutor();
+
+    private ArtifactPipeline() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Queues {@code raw} for writing to {@code <ui.artifacts.dir>/<name>/} and returns the files it will produce,
+     * relative to the report directory (the parent of {@code ui.artifacts.dir}), for a {@code text/uri-list} attachment.
+     */
+    public static List<String> submit(String name, FailureArtifacts raw) {
+        Path dir = ROOT.resolve(name.replaceAll("[^A-Za-z0-9._-]", "_"));
+        List<String> uris = new ArrayList<>();
+        if (raw.getScreenshotBase64() != null) uris.add(relative(dir.resolve("screenshot.png")));
+        if (raw.getPageSource() != null) uris.add(relative(dir.resolve("page.html")));
+        if (!raw.getConsole().isEmpty()) uris.add(relative(dir.resolve("console.log")));
+        if (!uris.isEmpty()) {
+            submitted.increment();
+            pending.add(CompletableFuture.runAsync(() -> write(dir, raw), executor));
+        }
+        return uris;
+    }
+
+    /** Blocks until every artifact queued so far is on disk, at most {@code ui.artifacts.drainSeconds}. */
+    public static void drain() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(config.getIntProperty("ui.artifacts.drainSeconds", 30));
+        CompletableFuture<Void> next;
+        while ((next = pending.poll()) != null) {
+            try {
+                next.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                log.warn("Gave up waiting for {} failure artifacts still being written", pending.size() + 1);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // Already logged and counted by the writer
+            }
+        }
+    }
+
+    public static String summary() {
+        return String.format("Failure artifacts: %d scenarios, %d files written, %d duplicates linked, "
+                        + "%d written on the scenario thread (queue full), %d failed",
+                submitted.sum(), files.sum(), duplicates.sum(), ranOnCaller.sum(), failed.sum());
+    }
+
+    private static void write(Path dir, FailureArtifacts raw) {
+        try {
+            Files.createDirectories(dir);
+            if (raw.getScreenshotBase64() != null) {
+                store(dir.resolve("screenshot.png"), Base64.getMimeDecoder().decode(raw.getScreenshotBase64()), "png");
+            }
+            if (raw.getPageSource() != null) {
+                store(dir.resolve("page.html"), html(raw).getBytes(StandardCharsets.UTF_8), "html");
+            }
+            if (!raw.getConsole().isEmpty()) {
+                store(dir.resolve("console.log"), console(raw.getConsole()).getBytes(StandardCharsets.UTF_8), "log");
+            }
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            log.warn("Could not write failure artifacts to {}: {}", dir, e.getMessage());
+        }
+    }
+
+    // Identical content (the same error page in 200 scenarios) is written once and linked everywhere else
+    private static void store(Path target, byte[] content, String extension) throws IOException {
+        String hash = sha256(content);
+        boolean[] created = {false};
+        Path blob;
+        try {
+            blob = blobs.computeIfAbsent(hash, h -> {
+                Path path = BLOBS.resolve(h + "." + extension);
+                try {
+                    if (!Files.exists(path)) {
+                        Files.createDirectories(BLOBS);
+                        Path tmp = BLOBS.resolve(h + ".tmp"); // computeIfAbsent runs once per hash, no clash
+                        Files.write(tmp, content);
+                        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                created[0] = true;
+                return path;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        (created[0] ? files : duplicates).increment();
+        Files.deleteIfExists(target);
+        try {
+            Files.createLink(target, blob);
+        } catch (UnsupportedOperationException | IOException e) {
+            Files.copy(blob, target);
+        }
+    }
+
+    // A <base> makes the saved page load its stylesheets and images from the original site
+    private static String html(FailureArtifacts raw) {
+        String source = raw.getPageSource();
+        if (raw.getUrl() == null || !raw.getUrl().startsWith("http")) {
+            return source;
+        }
+        String base = "<base href=\"" + raw.getUrl().replace("\"", "%22") + "\">";
+        int head = source.toLowerCase().indexOf("<head");
+        int headEnd = head < 0 ? -1 : source.indexOf('>', head);
+        String page = headEnd < 0 ? base + source : source.substring(0, headEnd + 1) + base + source.substring(headEnd + 1);
+        return "<!-- saved from " + raw.getUrl() + " -->\n" + page;
+    }
+
+    private static String console(List<LogEntry> entries) {
+        StringBuilder sb = new StringBuilder();
+        for (LogEntry entry : entries) {
+            sb.append(Instant.ofEpochMilli(entry.getTimestamp())).append(' ')
+                    .append(entry.getLevel()).append(' ')
+                    .append(entry.getMessage()).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    private static String relative(Path file) {
+        return ROOT.getParent().relativize(file).toString().replace('\\', '/');
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(content)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static ThreadPoolExecutor createExecutor() {
+        int threads = Math.max(1, config.getIntProperty("ui.artifacts.threads", 2));
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, config.getIntProperty("ui.artifacts.queue", 32))),
+                task -> {
+                    Thread thread = new Thread(task, "artifact-writer-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, executor) -> {
+                    // Backpressure: the failing scenario pays for its own artifacts instead of queueing more
+                    ranOnCaller.increment();
+                    if (!executor.isShutdown()) {
+                        task.run();
+                    }
+                });
+        pool.allowCoreThreadTimeOut(true);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            drain();
+            pool.shutdown();
+        }, "artifact-pipeline-drain"));
+        return pool;
+    }
+}
@@ -0,0 +1,75 @@
+package com.automation.tests.artifacts;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.logging.LogEntry;
+import org.openqa.selenium.logging.LogType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Raw state of a browser at the moment a scenario failed, taken as cheaply as possible on the scenario thread:
+ * the screenshot stays base64 (as sent by the driver), page source and console entries stay unformatted.
+ * Each part is optional, a browser that can't deliver one still delivers the others.
+ */
+public final class FailureArtifacts {
+    private static final Logger log = LoggerFactory.getLogger(FailureArtifacts.class);
+
+    private final String screenshotBase64;
+    private final String url;
+    private final String pageSource;
+    private final List<LogEntry> console;
+
+    private FailureArtifacts(String screenshotBase64, String url, String pageSource, List<LogEntry> console) {
+        this.screenshotBase64 = screenshotBase64;
+        this.url = url;
+        this.pageSource = pageSource;
+        this.console = console;
+    }
+
+    public static FailureArtifacts grab(WebDriver driver) {
+        String screenshot = null;
+        String url = null;
+        String source = null;
+        List<LogEntry> console = Collections.emptyList();
+        try {
+            screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+        } catch (Exception e) {
+            log.error("Failed to capture screenshot: {}", e.getMessage());
+        }
+        try {
+            url = driver.getCurrentUrl();
+            source = driver.getPageSource();
+        } catch (Exception e) {
+            log.warn("Failed to capture page source: {}", e.getMessage());
+        }
+        try {
+            // Only Chromium browsers started with logging prefs keep console entries (see DriverProvider)
+            console = new ArrayList<>(driver.manage().logs().get(LogType.BROWSER).getAll());
+        } catch (Exception e) {
+            log.debug("Browser console not available: {}", e.getMessage());
+        }
+        return new FailureArtifacts(screenshot, url, source, console);
+    }
+
+    String getScreenshotBase64() {
+        return screenshotBase64;
+    }
+
+    String getUrl() {
+        return url;
+    }
+
+    String getPageSource() {
+        return pageSource;
+    }
+
+    List<LogEntry> getConsole() {
+        return console;
+    }
+}
@@ -0,0 +1,23 @@
+package com.automation.tests.config;
+
+/**
+ * Where an effective configuration value came from, lowest precedence first.
+ */
+public enum ConfigLayer {
+    DEFAULT("built-in default"),
+    FILE("config/config.properties"),
+    PROFILE("env.<name>.* profile"),
+    ENVIRONMENT("environment variable"),
+    SYSTEM("system property"),
+    OVERRIDE("set at runtime");
+
+    private final String description;
+
+    ConfigLayer(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -1,5 +1,6 @@
 package com.automation.tests.config;
 
+import com.automation.tests.server.LocalLoginApp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -7,49 +8,59 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Properties;
 
+/**
+ * Entry point to the configuration. Everything is read once into an immutable {@link ConfigSnapshot};
+ * every getter is a lock-free read of the current snapshot.
+ * System properties set after startup are not seen, use {@link #override} for values that change during a run.
+ */
 public class ConfigManager {
     private static final Logger logger = LoggerFactory.getLogger(ConfigManager.class);
-    private static final Properties properties = new Properties();
-    private static ConfigManager instance;
+    private volatile ConfigSnapshot snapshot;
 
     private ConfigManager() {
+        Properties file = new Properties();
         try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream("config/config.properties")) {
-            if (inputStream != null) {
-                properties.load(inputStream);
-                logger.info("Configuration loaded successfully");
-                
-                // Override with environment variables if present
-                for (Object key : properties.keySet()) {
-                    String envKey = ((String) key).replace('.', '_').toUpperCase();
-                    String envValue = System.getenv(envKey);
-                    if (envValue != null && !envValue.isEmpty()) {
-                        properties.setProperty((String) key, envValue);
-                        logger.info("Overriding '{}' with environment variable", key);
-                    }
-                }
-                
-                // Apply environment-specific overrides
-                String environment = getProperty("env", "test");
-                String envBaseUrl = getProperty(environment + ".baseUrl", null);
-                if (envBaseUrl != null) {
-                    properties.setProperty("baseUrl", envBaseUrl);
-                    logger.info("Using '{}' environment baseUrl: {}", environment, envBaseUrl);
-                }
-            } else {
+            if (inputStream == null) {
                 logger.error("Configuration file not found!");
                 throw new RuntimeException("config.properties not found in the classpath!");
             }
+            file.load(inputStream);
         } catch (IOException e) {
             logger.error("Error loading configuration: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to load config.properties", e);
         }
+        ConfigSnapshot loaded = ConfigSnapshot.load(file, System.getenv(), System.getProperties());
+        if ("embedded".equals(loaded.getBaseUrl())) {
+            // In-JVM stand-in for the demo app, started once for the whole run
+            String url = LocalLoginApp.startOnce(loaded.getInt("ui.embedded.port", 0));
+            loaded = loaded.with("ui.baseUrl", url, loaded.getLayer("ui.baseUrl").orElse(ConfigLayer.DEFAULT));
+        }
+        snapshot = loaded;
+        logger.info("Configuration loaded successfully, profile '{}', baseUrl: {}", loaded.getEnvironment(), loaded.getBaseUrl());
+        logger.debug(loaded.getReport());
     }
 
-    public static synchronized ConfigManager getInstance() {
-        if (instance == null) {
-            instance = new ConfigManager();
-        }
-        return instance;
+    public static ConfigManager getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /** The current immutable configuration, with typed settings for the values read on hot paths. */
+    public ConfigSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Sets {@code key} for the rest of the run (the retry runner's attempt number, ...).
+     * Readers holding the previous snapshot keep seeing the old value.
+     */
+    public synchronized void override(String key, String value) {
+        snapshot = snapshot.with(key, value, ConfigLayer.OVERRIDE);
+        logger.debug("Configuration override {}={}", key, value);
+    }
+
+    /** Every effective framework setting and the layer it came from. */
+    public String getReport() {
+        return snapshot.getReport();
     }
 
     public String getProperty(String key) {
@@ -57,27 +68,28 @@ public class ConfigManager {
     }
 
     public String getProperty(String key, String defaultValue) {
-        // First check system properties
-        String value = System.getProperty(key);
-        if (value != null) {
-            return value;
-        }
-        // Then check our properties file
-        return properties.getProperty(key, defaultValue);
+        return snapshot.getString(key, defaultValue);
     }
 
     public int getIntProperty(String key, int defaultValue) {
-        String value = getProperty(key);
-        try {
-            return value != null ? Integer.parseInt(value) : defaultValue;
-        } catch (NumberFormatException e) {
-            logger.warn("Failed to parse {} as integer, using default: {}", key, defaultValue);
-            return defaultValue;
-        }
+        return snapshot.getInt(key, defaultValue);
+    }
+
+    public double getDoubleProperty(String key, double defaultValue) {
+        return snapshot.getDouble(key, defaultValue);
     }
 
     public boolean getBooleanProperty(String key, boolean defaultValue) {
-        String value = getProperty(key);
-        return value != null ? Boolean.parseBoolean(value) : defaultValue;
+        return snapshot.getBoolean(key, defaultValue);
+    }
+
+    /** See {@link ConfigSnapshot#getParallelism()}. */
+    public int getParallelism() {
+        return snapshot.getParallelism();
+    }
+
+    // Lazy, thread-safe initialisation without locking on every getInstance()
+    private static final class Holder {
+        private static final ConfigManager INSTANCE = new ConfigManager();
     }
 }
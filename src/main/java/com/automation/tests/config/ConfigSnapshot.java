@@ -0,0 +1,387 @@
+package com.automation.tests.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * One immutable, validated view of the configuration, built once at startup.
+ * - Layers, lowest precedence first: built-in defaults, config file, {@code env.<name>.*} profile,
+ *   environment variables ({@code ui.timeout} -> {@code UI_TIMEOUT}), system properties
+ * - Every value is parsed when the snapshot is built; lookups are plain reads of immutable maps
+ * - Keys with a typed default or a fixed set of choices are validated up front, all problems reported at once
+ * - {@link #getReport()} lists each effective value with the layer it came from
+ */
+public final class ConfigSnapshot {
+    private static final Logger log = LoggerFactory.getLogger(ConfigSnapshot.class);
+    private static final String PROFILE_PREFIX = "env.";
+    private static final String[] REPORTED_PREFIXES = {"ui.", "shard.", "cucumber.", "env"};
+    private static final String[] SECRET_MARKERS = {"password", "secret", "token"};
+
+    // The type of the default is the type the value must parse as
+    private static final Map<String, Object> DEFAULTS = new LinkedHashMap<>();
+    private static final Map<String, Set<String>> CHOICES = new HashMap<>();
+    // Keys renamed since earlier releases, still honoured with a warning
+    private static final Map<String, String> RENAMED = Map.of(
+            "grid.enabled", "ui.grid.enabled",
+            "grid.url", "ui.grid.url");
+
+    static {
+        DEFAULTS.put("env", "test");
+        DEFAULTS.put("ui.browser", "chrome");
+        DEFAULTS.put("ui.headless", false);
+        DEFAULTS.put("ui.baseUrl", "https://example.com");
+        DEFAULTS.put("ui.timeout", 10);
+        DEFAULTS.put("ui.timing.collect", true);
+        DEFAULTS.put("ui.grid.enabled", false);
+        DEFAULTS.put("ui.grid.url", "http://localhost:4444/wd/hub");
+        DEFAULTS.put("ui.grid.maxSessions", 50);
+        DEFAULTS.put("ui.embedded.port", 0);
+        DEFAULTS.put("ui.pool.enabled", true);
+        DEFAULTS.put("ui.pool.maxUses", 50);
+        DEFAULTS.put("ui.pool.maxAgeSeconds", 1800);
+        DEFAULTS.put("ui.pool.leaseTimeoutSeconds", 60);
+        DEFAULTS.put("ui.driver.offline", false);
+        DEFAULTS.put("ui.provision.size", 1);
+        DEFAULTS.put("ui.parallel.mode", "off");
+        DEFAULTS.put("ui.parallel.threads", 1);
+        DEFAULTS.put("ui.parallel.factor", 1.0);
+        DEFAULTS.put("ui.network.block.enabled", false);
+        DEFAULTS.put("ui.network.block.patterns", "");
+        DEFAULTS.put("ui.network.block.types", "");
+        DEFAULTS.put("ui.network.block.measureSavings", false);
+        DEFAULTS.put("ui.session.snapshots.enabled", true);
+        DEFAULTS.put("ui.session.ttlSeconds", 900);
+        DEFAULTS.put("ui.session.landingPath", "/favicon.ico");
+        DEFAULTS.put("ui.metrics.enabled", true);
+        DEFAULTS.put("ui.budget.enabled", true);
+        DEFAULTS.put("ui.budget.commands", 0);
+        DEFAULTS.put("ui.budget.enforce", false);
+        DEFAULTS.put("ui.telemetry.regressionPercent", 20.0);
+        DEFAULTS.put("ui.telemetry.trendFile", "build/reports/page-telemetry-trend.csv");
+        DEFAULTS.put("ui.history.file", ".ui-test-history/scenario-durations.properties");
+        DEFAULTS.put("ui.history.report", "build/reports/cucumber.json");
+        DEFAULTS.put("ui.history.alpha", 0.5);
+        DEFAULTS.put("ui.history.defaultCostMs", 5000);
+        DEFAULTS.put("shard.index", 1);
+        DEFAULTS.put("shard.total", 1);
+        DEFAULTS.put("shard.strategy", "hash");
+        DEFAULTS.put("ui.retry.max", 2);
+        DEFAULTS.put("ui.retry.attempt", 0);
+        DEFAULTS.put("ui.retry.rerunFile", "build/reports/rerun.txt");
+        DEFAULTS.put("ui.flaky.file", ".ui-test-history/scenario-flakes.properties");
+        DEFAULTS.put("ui.flaky.window", 20);
+        DEFAULTS.put("ui.flaky.minRuns", 5);
+        DEFAULTS.put("ui.flaky.threshold", 0.2);
+        DEFAULTS.put("ui.quarantine.mode", "exclude");
+        DEFAULTS.put("ui.artifacts.dir", "build/reports/artifacts");
+        DEFAULTS.put("ui.artifacts.threads", 2);
+        DEFAULTS.put("ui.artifacts.queue", 32);
+        DEFAULTS.put("ui.artifacts.drainSeconds", 30);
+        DEFAULTS.put("ui.artifacts.console", true);
+        DEFAULTS.put("ui.recorder.enabled", true);
+        DEFAULTS.put("ui.recorder.size", 200);
+
+        CHOICES.put("ui.browser", Set.of("chrome", "firefox", "edge", "safari"));
+        CHOICES.put("ui.parallel.mode", Set.of("off", "fixed", "dynamic", "virtual"));
+        CHOICES.put("shard.strategy", Set.of("hash", "duration"));
+        CHOICES.put("ui.quarantine.mode", Set.of("exclude", "only", "include"));
+    }
+
+    private final Map<String, Value> values;
+
+    /* ------------ typed settings read on hot paths ------------ */
+    private final String  environment;
+    private final String  browser;
+    private final boolean headless;
+    private final String  baseUrl;
+    private final int     timeoutSeconds;
+    private final boolean timingCollect;
+    private final boolean gridEnabled;
+    private final String  gridUrl;
+    private final int     parallelism;
+    private final boolean virtualThreads;
+
+    private ConfigSnapshot(Map<String, Value> values) {
+        this.values = Collections.unmodifiableMap(values);
+        validate();
+        this.environment    = getString("env", null);
+        this.browser        = getString("ui.browser", null).toLowerCase(Locale.ROOT);
+        this.headless       = getBoolean("ui.headless", false);
+        this.baseUrl        = getString("ui.baseUrl", null);
+        this.timeoutSeconds = getInt("ui.timeout", 0);
+        this.timingCollect  = getBoolean("ui.timing.collect", true);
+        this.gridEnabled    = getBoolean("ui.grid.enabled", false);
+        this.gridUrl        = getString("ui.grid.url", null);
+        this.parallelism    = parallelism();
+        this.virtualThreads = "virtual".equalsIgnoreCase(getString("ui.parallel.mode", "off").trim());
+    }
+
+    /**
+     * Layers {@code file}, the {@code env.<name>.*} profile, {@code environment} and {@code system} over the defaults.
+     *
+     * @throws IllegalStateException listing every value that does not parse or is not one of the allowed choices
+     */
+    static ConfigSnapshot load(Properties file, Map<String, String> environment, Properties system) {
+        Map<String, Value> values = new HashMap<>();
+        DEFAULTS.forEach((key, value) -> values.put(key, new Value(String.valueOf(value), ConfigLayer.DEFAULT)));
+        for (String key : file.stringPropertyNames()) {
+            if (!key.startsWith(PROFILE_PREFIX)) {
+                values.put(key, new Value(file.getProperty(key), ConfigLayer.FILE));
+            }
+        }
+
+        // The profile name itself may come from any layer, so look ahead before applying the profile
+        String name = firstNonEmpty(system.getProperty("env"), environment.get(envName("env")), values.get("env").raw);
+        String prefix = PROFILE_PREFIX + name + ".";
+        for (String key : file.stringPropertyNames()) {
+            if (key.startsWith(prefix)) {
+                values.put(key.substring(prefix.length()), new Value(file.getProperty(key), ConfigLayer.PROFILE));
+            }
+        }
+
+        Set<String> keys = new TreeSet<>(values.keySet());
+        keys.addAll(RENAMED.keySet());
+        for (String key : keys) {
+            String value = environment.get(envName(key));
+            if (value != null && !value.isEmpty()) {
+                values.put(key, new Value(value, ConfigLayer.ENVIRONMENT));
+            }
+        }
+        for (String key : system.stringPropertyNames()) {
+            values.put(key, new Value(system.getProperty(key), ConfigLayer.SYSTEM));
+        }
+        RENAMED.forEach((old, current) -> {
+            Value value = values.remove(old);
+            if (value != null) {
+                log.warn("{} ({}) is deprecated, use {}", old, value.layer.getDescription(), current);
+                // Same layer: the new key wins
+                if (value.layer.compareTo(values.get(current).layer) > 0) {
+                    values.put(current, value);
+                }
+            }
+        });
+        return new ConfigSnapshot(values);
+    }
+
+    /** A copy with {@code key} set to {@code value}, validated like the original. */
+    ConfigSnapshot with(String key, String value, ConfigLayer layer) {
+        Map<String, Value> copy = new HashMap<>(values);
+        copy.put(key, new Value(value, layer));
+        return new ConfigSnapshot(copy);
+    }
+
+    /* ------------ typed settings ------------ */
+
+    /** The {@code env} profile in use ({@code -Denv=local}). */
+    public String  getEnvironment()    { return environment; }
+    public String  getBrowser()        { return browser; }
+    public boolean isHeadless()        { return headless; }
+    public String  getBaseUrl()        { return baseUrl; }
+    /** {@code ui.timeout}: default explicit wait, page load and script timeouts derive from it. */
+    public int     getTimeoutSeconds() { return timeoutSeconds; }
+    public boolean isTimingCollect()   { return timingCollect; }
+    public boolean isGridEnabled()     { return gridEnabled; }
+    public String  getGridUrl()        { return gridUrl; }
+
+    /**
+     * Number of scenarios to run at the same time, selected by {@code ui.parallel.mode}:
+     * {@code off} (1), {@code fixed} ({@code ui.parallel.threads}),
+     * {@code dynamic} ({@code ui.parallel.factor} x available processors) or
+     * {@code virtual} ({@code ui.grid.maxSessions}, one virtual thread per scenario).
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /** {@code ui.parallel.mode=virtual}: scenarios run on virtual threads, bounded by the grid session limit. */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /* ------------ lookups by key ------------ */
+
+    public String getString(String key, String defaultValue) {
+        Value value = values.get(key);
+        return value != null ? value.raw : defaultValue;
+    }
+
+    public int getInt(String key, int defaultValue) {
+        Value value = values.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value.asInt == null) {
+            log.warn("Failed to parse {} as integer, using default: {}", key, defaultValue);
+            return defaultValue;
+        }
+        return value.asInt;
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        Value value = values.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value.asDouble == null) {
+            log.warn("Failed to parse {} as double, using default: {}", key, defaultValue);
+            return defaultValue;
+        }
+        return value.asDouble;
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        Value value = values.get(key);
+        return value != null ? value.asBoolean : defaultValue;
+    }
+
+    /** The layer the effective value of {@code key} came from, empty when it is not set anywhere. */
+    public Optional<ConfigLayer> getLayer(String key) {
+        Value value = values.get(key);
+        return Optional.ofNullable(value == null ? null : value.layer);
+    }
+
+    /** Effective framework settings with their source layer; secrets masked, unrelated JVM properties left out. */
+    public String getReport() {
+        Map<String, Value> reported = new TreeMap<>();
+        values.forEach((key, value) -> {
+            if (value.layer != ConfigLayer.SYSTEM || isFrameworkKey(key)) {
+                reported.put(key, value);
+            }
+        });
+        StringBuilder sb = new StringBuilder("Configuration (profile '" + environment + "'):");
+        reported.forEach((key, value) -> sb.append(String.format("%n  %-36s %-40s %s",
+                key, isSecret(key) ? "******" : value.raw, value.layer.getDescription())));
+        return sb.toString();
+    }
+
+    private void validate() {
+        List<String> problems = new ArrayList<>();
+        DEFAULTS.forEach((key, defaultValue) -> {
+            Value value = values.get(key);
+            String type = defaultValue instanceof Integer ? "an integer"
+                    : defaultValue instanceof Double ? "a number"
+                    : defaultValue instanceof Boolean ? "true or false"
+                    : null;
+            boolean valid = type == null
+                    || (defaultValue instanceof Integer && value.asInt != null)
+                    || (defaultValue instanceof Double && value.asDouble != null)
+                    || (defaultValue instanceof Boolean && value.isBoolean());
+            if (!valid) {
+                problems.add(String.format("%s='%s' (%s) is not %s", key, value.raw, value.layer.getDescription(), type));
+            }
+        });
+        CHOICES.forEach((key, allowed) -> {
+            Value value = values.get(key);
+            if (!allowed.contains(value.raw.trim().toLowerCase(Locale.ROOT))) {
+                problems.add(String.format("%s='%s' (%s) is not one of %s",
+                        key, value.raw, value.layer.getDescription(), new TreeSet<>(allowed)));
+            }
+        });
+        if (problems.isEmpty() && values.get("ui.timeout").asInt <= 0) {
+            problems.add("ui.timeout must be positive, got " + values.get("ui.timeout").raw);
+        }
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("Invalid configuration:" + System.lineSeparator() + " - "
+                    + String.join(System.lineSeparator() + " - ", problems));
+        }
+    }
+
+    private int parallelism() {
+        switch (getString("ui.parallel.mode", "off").trim().toLowerCase(Locale.ROOT)) {
+            case "fixed":
+                return Math.max(1, getInt("ui.parallel.threads", 1));
+            case "dynamic":
+                double factor = getDouble("ui.parallel.factor", 1.0);
+                return Math.max(1, (int) Math.round(factor * Runtime.getRuntime().availableProcessors()));
+            case "virtual":
+                return Math.max(1, getInt("ui.grid.maxSessions", 50));
+            case "off":
+            default:
+                return 1;
+        }
+    }
+
+    // ui.network.block.types -> UI_NETWORK_BLOCK_TYPES
+    private static String envName(String key) {
+        return key.replace('.', '_').toUpperCase(Locale.ROOT);
+    }
+
+    private static String firstNonEmpty(String... candidates) {
+        for (String candidate : candidates) {
+            if (candidate != null && !candidate.isEmpty()) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isFrameworkKey(String key) {
+        for (String prefix : REPORTED_PREFIXES) {
+            if (key.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSecret(String key) {
+        String lower = key.toLowerCase(Locale.ROOT);
+        for (String marker : SECRET_MARKERS) {
+            if (lower.contains(marker)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** A raw value with its source layer, parsed once into every type it might be read as. */
+    private static final class Value {
+        private final String raw;
+        private final ConfigLayer layer;
+        private final Integer asInt;
+        private final Double asDouble;
+        private final boolean asBoolean;
+
+        private Value(String raw, ConfigLayer layer) {
+            this.raw = raw;
+            this.layer = layer;
+            String trimmed = raw.trim();
+            this.asInt = parseInt(trimmed);
+            this.asDouble = parseDouble(trimmed);
+            this.asBoolean = Boolean.parseBoolean(trimmed);
+        }
+
+        private boolean isBoolean() {
+            return asBoolean || "false".equalsIgnoreCase(raw.trim());
+        }
+
+        private static Integer parseInt(String s) {
+            try {
+                return Integer.parseInt(s);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private static Double parseDouble(String s) {
+            try {
+                return Double.parseDouble(s);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
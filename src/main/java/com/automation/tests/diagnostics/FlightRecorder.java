@@ -0,0 +1,230 @@
+package com.automation.tests.diagnostics;
+
+import com.automation.tests.config.ConfigManager;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Remembers the last {@code ui.recorder.size} WebDriver calls of one browser, so a failed scenario can show
+ * what led up to it without page objects logging page source and URLs on every step.
+ * - Each entry: wall-clock time, command, abbreviated arguments, duration, result or error
+ * - Secrets never reach the buffer (it ends up in the report): typed text is a length, cookies are name, domain
+ *   and path, script arguments and results are their kind only
+ * - URL and title are taken from results the test already asked for; the recorder never talks to the browser
+ * - Cleared whenever the browser is leased to a new scenario
+ */
+public class FlightRecorder implements WebDriverListener {
+    private static final Set<String> IGNORED = Set.of("toString", "hashCode", "equals", "getWrappedDriver", "getWrappedElement");
+    private static final Set<String> SCRIPTS = Set.of("executeScript", "executeAsyncScript");
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+    private static final int MAX_ARG_LENGTH = 80;
+
+    private final int capacity;
+    private final Deque<Entry> entries = new ArrayDeque<>();
+    private final Deque<Entry> open = new ArrayDeque<>();
+    private String lastUrl;
+    private String lastTitle;
+    private long dropped;
+
+    public FlightRecorder() {
+        this.capacity = Math.max(1, ConfigManager.getInstance().getIntProperty("ui.recorder.size", 200));
+    }
+
+    public static boolean isEnabled() {
+        return ConfigManager.getInstance().getBooleanProperty("ui.recorder.enabled", true);
+    }
+
+    @Override
+    public synchronized void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (IGNORED.contains(method.getName())) {
+            return;
+        }
+        Entry entry = new Entry(describe(target, method, args));
+        if (entries.size() == capacity) {
+            entries.removeFirst();
+            dropped++;
+        }
+        entries.addLast(entry);
+        open.push(entry);
+    }
+
+    @Override
+    public synchronized void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        if (IGNORED.contains(method.getName())) {
+            return;
+        }
+        if (target instanceof WebDriver) {
+            if ("get".equals(method.getName()) && args != null && args.length > 0) {
+                lastUrl = String.valueOf(args[0]);
+            } else if ("getCurrentUrl".equals(method.getName())) {
+                lastUrl = String.valueOf(result);
+            } else if ("getTitle".equals(method.getName())) {
+                lastTitle = String.valueOf(result);
+            }
+        }
+        close(describeResult(method, result), null);
+    }
+
+    @Override
+    public synchronized void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        if (IGNORED.contains(method.getName())) {
+            return;
+        }
+        Throwable cause = e.getCause() == null ? e : e.getCause();
+        close(null, cause.getClass().getSimpleName() + ": " + firstLine(cause.getMessage()));
+    }
+
+    /** Forgets everything recorded so far. */
+    public synchronized void clear() {
+        entries.clear();
+        open.clear();
+        dropped = 0;
+        lastUrl = null;
+        lastTitle = null;
+    }
+
+    /** Plain-text dump of the buffer, oldest call first. */
+    public synchronized String dump() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Last known URL: %s%nLast known title: %s%n", lastUrl, lastTitle));
+        if (dropped > 0) {
+            sb.append(String.format("(%d earlier calls dropped)%n", dropped));
+        }
+        for (Entry e : entries) {
+            sb.append(e).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    private void close(String result, String error) {
+        Entry entry = open.poll();
+        if (entry != null) {
+            entry.nanos = System.nanoTime() - entry.start;
+            entry.result = result;
+            entry.error = error;
+        }
+    }
+
+    private static String describe(Object target, Method method, Object[] args) {
+        String on = target instanceof WebDriver ? "" : target instanceof WebElement ? "element." : simpleType(method) + ".";
+        String arguments;
+        if (args == null || args.length == 0) {
+            arguments = "";
+        } else if ("sendKeys".equals(method.getName())) {
+            // Typed text may be a password: WebElement.sendKeys(CharSequence...) or Alert.sendKeys(String)
+            int length = Arrays.stream(args).mapToInt(FlightRecorder::typedLength).sum();
+            arguments = "<" + length + " chars>";
+        } else if (args[0] instanceof Cookie) {
+            arguments = cookie((Cookie) args[0]);
+        } else if (SCRIPTS.contains(method.getName())) {
+            // The script is code; its arguments can be anything the test passes in (storage, tokens)
+            Object[] scriptArgs = args.length > 1 && args[1] instanceof Object[] ? (Object[]) args[1] : new Object[0];
+            arguments = Stream.concat(Stream.of(abbreviate(args[0])), Arrays.stream(scriptArgs).map(FlightRecorder::kind))
+                    .collect(Collectors.joining(", "));
+        } else {
+            arguments = Arrays.stream(args).map(FlightRecorder::abbreviate).collect(Collectors.joining(", "));
+        }
+        return on + method.getName() + "(" + arguments + ")";
+    }
+
+    private static String describeResult(Method method, Object result) {
+        if (result instanceof Void || result == null || result instanceof WebElement) {
+            return null;
+        }
+        if (result instanceof Cookie) {
+            return cookie((Cookie) result);
+        }
+        if (result instanceof Collection && !((Collection<?>) result).isEmpty()
+                && ((Collection<?>) result).stream().allMatch(Cookie.class::isInstance)) {
+            return abbreviate(((Collection<?>) result).stream()
+                    .map(c -> ((Cookie) c).getName()).sorted().collect(Collectors.joining(", ", "cookies [", "]")));
+        }
+        return SCRIPTS.contains(method.getName()) ? kind(result) : abbreviate(result);
+    }
+
+    // Never the value: a session cookie is a login
+    private static String cookie(Cookie cookie) {
+        return "cookie " + cookie.getName() + " (domain=" + cookie.getDomain() + ", path=" + cookie.getPath() + ")";
+    }
+
+    private static String kind(Object value) {
+        if (value == null || value instanceof Boolean) {
+            return String.valueOf(value);
+        }
+        if (value instanceof WebElement) {
+            return "<element>";
+        }
+        if (value instanceof CharSequence) {
+            return "<" + ((CharSequence) value).length() + " chars>";
+        }
+        if (value instanceof Map) {
+            return "<map of " + ((Map<?, ?>) value).size() + ">";
+        }
+        if (value instanceof Collection) {
+            return "<list of " + ((Collection<?>) value).size() + ">";
+        }
+        return "<" + value.getClass().getSimpleName() + ">";
+    }
+
+    private static int typedLength(Object arg) {
+        if (arg instanceof CharSequence[]) {
+            return Arrays.stream((CharSequence[]) arg).mapToInt(c -> c == null ? 0 : c.length()).sum();
+        }
+        return arg instanceof CharSequence ? ((CharSequence) arg).length() : 0;
+    }
+
+    // Navigation, Options, Timeouts, ... -> navigation, options, timeouts
+    private static String simpleType(Method method) {
+        String name = method.getDeclaringClass().getSimpleName();
+        return name.isEmpty() ? "?" : Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static String abbreviate(Object value) {
+        String s = value instanceof Object[] ? Arrays.deepToString((Object[]) value) : firstLine(String.valueOf(value));
+        return s.length() > MAX_ARG_LENGTH ? s.substring(0, MAX_ARG_LENGTH) + "..." : s;
+    }
+
+    private static String firstLine(String s) {
+        if (s == null) {
+            return "";
+        }
+        int nl = s.indexOf('\n');
+        return nl < 0 ? s : s.substring(0, nl);
+    }
+
+    private static final class Entry {
+        private final LocalTime at = LocalTime.now();
+        private final long start = System.nanoTime();
+        private final String call;
+        private long nanos = -1;
+        private String result;
+        private String error;
+
+        private Entry(String call) {
+            this.call = call;
+        }
+
+        @Override
+        public String toString() {
+            String took = nanos < 0 ? "   (running)" : String.format("%6d ms", TimeUnit.NANOSECONDS.toMillis(nanos));
+            String outcome = error != null ? "  !! " + error : result != null ? "  -> " + result : "";
+            return TIME.format(at) + " " + took + "  " + call + outcome;
+        }
+    }
+}
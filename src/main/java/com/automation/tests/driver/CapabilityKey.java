@@ -0,0 +1,69 @@
+package com.automation.tests.driver;
+
+import com.automation.tests.config.ConfigManager;
+import com.automation.tests.config.ConfigSnapshot;
+
+import java.util.Objects;
+
+/**
+ * Identifies a distinct browser configuration: browser name, headless mode and local vs grid.
+ * Two sessions with equal keys are interchangeable, which is what pooling and option caching rely on.
+ */
+public final class CapabilityKey {
+    private final String browser;
+    private final boolean headless;
+    private final boolean remote;
+
+    public CapabilityKey(String browser, boolean headless, boolean remote) {
+        this.browser = browser.toLowerCase();
+        this.headless = headless;
+        this.remote = remote;
+    }
+
+    public static CapabilityKey fromConfig() {
+        ConfigSnapshot config = ConfigManager.getInstance().snapshot();
+        return new CapabilityKey(config.getBrowser(), config.isHeadless(), config.isGridEnabled());
+    }
+
+    public CapabilityKey withBrowser(String browser) {
+        return new CapabilityKey(browser, headless, remote);
+    }
+
+    public CapabilityKey withHeadless(boolean headless) {
+        return new CapabilityKey(browser, headless, remote);
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public boolean isRemote() {
+        return remote;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CapabilityKey)) {
+            return false;
+        }
+        CapabilityKey other = (CapabilityKey) o;
+        return headless == other.headless && remote == other.remote && browser.equals(other.browser);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(browser, headless, remote);
+    }
+
+    @Override
+    public String toString() {
+        return browser + (headless ? "/headless" : "") + (remote ? "/grid" : "/local");
+    }
+}
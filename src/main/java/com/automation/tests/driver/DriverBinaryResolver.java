@@ -0,0 +1,175 @@
+package com.automation.tests.driver;
+
+import com.automation.tests.config.ConfigManager;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import io.github.bonigarcia.wdm.config.Config;
+import io.github.bonigarcia.wdm.config.DriverManagerType;
+import io.github.bonigarcia.wdm.online.HttpClient;
+import io.github.bonigarcia.wdm.versions.VersionDetector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Resolves driver binaries (chromedriver, geckodriver, msedgedriver) once per JVM.
+ * - Results are remembered in memory and in an on-disk manifest keyed by browser + major version
+ * - A manifest hit skips WebDriverManager entirely: no version lookups, no network
+ * - {@code ui.driver.offline=true} never goes online and fails fast when the manifest has no usable binary
+ */
+public final class DriverBinaryResolver {
+    private static final Logger log = LoggerFactory.getLogger(DriverBinaryResolver.class);
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final Map<String, String> DRIVER_PROPERTIES = Map.of(
+            "chrome", "webdriver.chrome.driver",
+            "firefox", "webdriver.gecko.driver",
+            "edge", "webdriver.edge.driver");
+    private static final Map<String, CompletableFuture<Path>> resolved = new ConcurrentHashMap<>();
+    private static final ReentrantLock MANIFEST_LOCK = new ReentrantLock();
+
+    private DriverBinaryResolver() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Makes sure the driver binary for {@code browser} is known to Selenium
+     * (via its {@code webdriver.*.driver} system property). Cheap after the first call.
+     */
+    public static void resolve(String browser) {
+        String property = DRIVER_PROPERTIES.get(browser);
+        if (property == null) {
+            return; // safari ships its own driver
+        }
+        // The first caller resolves outside any map monitor (the probe and download must not pin virtual
+        // threads), concurrent callers for the same browser wait for its result; a failure is retried next time
+        CompletableFuture<Path> pending = new CompletableFuture<>();
+        CompletableFuture<Path> driverPath = resolved.putIfAbsent(browser, pending);
+        if (driverPath == null) {
+            driverPath = pending;
+            try {
+                pending.complete(locate(browser));
+            } catch (RuntimeException e) {
+                resolved.remove(browser, pending);
+                pending.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            System.setProperty(property, driverPath.join().toString());
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Could not resolve " + browser + " driver", e.getCause());
+        }
+    }
+
+    private static Path locate(String browser) {
+        String explicit = System.getProperty(DRIVER_PROPERTIES.get(browser));
+        if (explicit != null && Files.isExecutable(Paths.get(explicit))) {
+            log.info("Using {} driver from system property: {}", browser, explicit);
+            return Paths.get(explicit);
+        }
+
+        boolean offline = config.getBooleanProperty("ui.driver.offline", false);
+        String browserVersion = config.getProperty("ui.driver.browserVersion");
+        if (browserVersion == null) {
+            browserVersion = detectMajorVersion(browser);
+        }
+        String key = browser + "." + browserVersion;
+        Path manifestPath = manifestPath();
+
+        // A lock, not a monitor: resolving may download, and virtual threads must not block while pinned
+        MANIFEST_LOCK.lock();
+        try {
+            Properties manifest = loadManifest(manifestPath);
+            String cached = manifest.getProperty(key + ".path");
+            if (cached != null && Files.isExecutable(Paths.get(cached))) {
+                log.info("Using cached {} driver {} for browser version {}: {}",
+                        browser, manifest.getProperty(key + ".driverVersion"), browserVersion, cached);
+                return Paths.get(cached);
+            }
+            if (offline) {
+                throw new IllegalStateException("Offline mode (ui.driver.offline=true): no usable " + browser
+                        + " driver for browser version " + browserVersion + " in " + manifestPath
+                        + ". Resolve it once with network access or set -D" + DRIVER_PROPERTIES.get(browser));
+            }
+
+            WebDriverManager wdm = WebDriverManager.getInstance(DriverManagerType.valueOf(browser.toUpperCase()));
+            if (!"unknown".equals(browserVersion)) {
+                wdm.browserVersion(browserVersion);
+            }
+            wdm.setup();
+            Path driverPath = Paths.get(wdm.getDownloadedDriverPath());
+            manifest.setProperty(key + ".path", driverPath.toString());
+            manifest.setProperty(key + ".driverVersion", String.valueOf(wdm.getDownloadedDriverVersion()));
+            manifest.setProperty(key + ".resolvedAt", Instant.now().toString());
+            saveManifest(manifestPath, manifest);
+            log.info("Resolved {} driver {} for browser version {}: {}",
+                    browser, wdm.getDownloadedDriverVersion(), browserVersion, driverPath);
+            return driverPath;
+        } finally {
+            MANIFEST_LOCK.unlock();
+        }
+    }
+
+    private static String detectMajorVersion(String browser) {
+        try {
+            Config wdmConfig = new Config();
+            Optional<String> version = new VersionDetector(wdmConfig, new HttpClient(wdmConfig))
+                    .getBrowserVersionFromTheShell(browser);
+            if (version.isPresent()) {
+                return VersionDetector.getMajorVersion(version.get());
+            }
+        } catch (Exception e) {
+            log.debug("Could not detect {} version: {}", browser, e.getMessage());
+        }
+        log.warn("Could not detect installed {} version, set ui.driver.browserVersion to pin it", browser);
+        return "unknown";
+    }
+
+    private static Path manifestPath() {
+        String configured = config.getProperty("ui.driver.manifest");
+        if (configured != null) {
+            return Paths.get(configured);
+        }
+        return Paths.get(System.getProperty("user.home"), ".cache", "ui-test-cucumber", "driver-manifest.properties");
+    }
+
+    private static Properties loadManifest(Path path) {
+        Properties manifest = new Properties();
+        if (Files.exists(path)) {
+            try (InputStream in = Files.newInputStream(path)) {
+                manifest.load(in);
+            } catch (IOException e) {
+                log.warn("Ignoring unreadable driver manifest {}: {}", path, e.getMessage());
+            }
+        }
+        return manifest;
+    }
+
+    private static void saveManifest(Path path, Properties manifest) {
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            // Write-then-rename so a parallel build never reads a half-written manifest
+            Path tmp = Files.createTempFile(path.toAbsolutePath().getParent(), "driver-manifest", ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                manifest.store(out, "Driver binaries resolved by DriverBinaryResolver");
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write driver manifest {}: {}", path, e.getMessage());
+        }
+    }
+}
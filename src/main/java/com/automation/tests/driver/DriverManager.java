@@ -1,85 +1,142 @@
 package com.automation.tests.driver;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.automation.tests.config.ConfigManager;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.edge.EdgeDriver;
-import org.openqa.selenium.firefox.FirefoxDriver;
-import org.openqa.selenium.firefox.FirefoxOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+
 public class DriverManager {
     private static final Logger log = LoggerFactory.getLogger(DriverManager.class);
-    private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final ThreadLocal<DriverSession> sessionThreadLocal = new ThreadLocal<>();
+    private static final CapabilityKey defaultKey = CapabilityKey.fromConfig();
+    private static final DriverProvisioner provisioner = createProvisioner();
+    private static final DriverPool pool = createPool();
     
     private DriverManager() {
         // Private constructor to prevent instantiation
     }
     
     public static WebDriver getDriver() {
-        if (driverThreadLocal.get() == null) {
+        if (sessionThreadLocal.get() == null) {
             log.info("Creating new WebDriver instance");
             initDriver();
         }
-        return driverThreadLocal.get();
+        return sessionThreadLocal.get().getDriver();
     }
     
     public static void initDriver() {
-        String browser = System.getProperty("ui.browser", "chrome").toLowerCase();
-        boolean headless = Boolean.parseBoolean(System.getProperty("ui.headless", "false"));
-        
-        log.info("Initializing {} browser (headless: {})", browser, headless);
-        
-        try {
-            WebDriver driver;
-            
-            switch (browser) {
-                case "firefox":
-                    WebDriverManager.firefoxdriver().setup();
-                    FirefoxOptions firefoxOptions = new FirefoxOptions();
-                    if (headless) {
-                        firefoxOptions.addArguments("--headless");
-                    }
-                    driver = new FirefoxDriver(firefoxOptions);
-                    break;
-                case "edge":
-                    WebDriverManager.edgedriver().setup();
-                    driver = new EdgeDriver();
-                    break;
-                case "chrome":
-                default:
-                    WebDriverManager.chromedriver().setup();
-                    ChromeOptions chromeOptions = new ChromeOptions();
-                    if (headless) {
-                        chromeOptions.addArguments("--headless=new");
-                    }
-                    chromeOptions.addArguments("--disable-gpu");
-                    chromeOptions.addArguments("--window-size=1920,1080");
-                    driver = new ChromeDriver(chromeOptions);
-                    break;
-            }
-            
-            driver.manage().window().maximize();
-            driverThreadLocal.set(driver);
-            
-        } catch (Exception e) {
-            log.error("Failed to initialize WebDriver", e);
-            throw new RuntimeException("Failed to initialize WebDriver", e);
+        initDriver(defaultKey);
+    }
+    
+    /** The session behind {@link #getDriver()}, started on demand like the driver itself. */
+    public static DriverSession getSession() {
+        getDriver();
+        return sessionThreadLocal.get();
+    }
+    
+    /**
+     * Binds a browser matching {@code key} to the current thread: a pooled one when
+     * {@code ui.pool.enabled=true}, otherwise a freshly started one.
+     */
+    public static void initDriver(CapabilityKey key) {
+        if (sessionThreadLocal.get() != null) {
+            releaseDriver();
+        }
+        sessionThreadLocal.set(pool != null ? pool.lease(key) : new DriverSession(newDriver(key), key));
+    }
+    
+    /** Like {@link #initDriver(CapabilityKey)}, but never reuses a pooled browser (retried scenarios start clean). */
+    public static void initFreshDriver(CapabilityKey key) {
+        if (sessionThreadLocal.get() != null) {
+            releaseDriver();
+        }
+        sessionThreadLocal.set(pool != null ? pool.leaseFresh(key) : new DriverSession(newDriver(key), key));
+    }
+    
+    /** Whether the current thread holds a browser; a scenario thread must not end while it does. */
+    public static boolean hasDriver() {
+        return sessionThreadLocal.get() != null;
+    }
+    
+    /** The configured browser/headless/grid combination, used when a scenario asks for nothing else. */
+    public static CapabilityKey getDefaultKey() {
+        return defaultKey;
+    }
+    
+    /**
+     * Hands the current thread's browser back to the pool (reset for the next scenario),
+     * or quits it when pooling is disabled.
+     */
+    public static void releaseDriver() {
+        DriverSession session = sessionThreadLocal.get();
+        if (session == null) {
+            return;
+        }
+        sessionThreadLocal.remove();
+        if (pool != null) {
+            log.info("Returning WebDriver to pool");
+            pool.release(session);
+        } else {
+            log.info("Quitting WebDriver");
+            session.quit();
         }
     }
     
     public static void quitDriver() {
         log.info("Quitting WebDriver");
-        WebDriver driver = driverThreadLocal.get();
-        if (driver != null) {
-            try {
-                driver.quit();
-            } catch (Exception e) {
-                log.error("Error quitting WebDriver", e);
+        DriverSession session = sessionThreadLocal.get();
+        if (session != null) {
+            sessionThreadLocal.remove();
+            if (pool != null) {
+                pool.discard(session);
+            } else {
+                session.quit();
             }
-            driverThreadLocal.remove();
         }
     }
+    
+    private static WebDriver newDriver(CapabilityKey key) {
+        // The provisioner (pool disabled only) pre-starts browsers for the default capabilities
+        return provisioner != null && key.equals(defaultKey) ? provisioner.take() : DriverProvider.create(key);
+    }
+    
+    private static DriverProvisioner createProvisioner() {
+        int size = config.getIntProperty("ui.provision.size", 1);
+        if (size < 1) {
+            log.info("Driver provisioning disabled, browsers start on the scenario thread");
+            return null;
+        }
+        if (config.getBooleanProperty("ui.pool.enabled", true)) {
+            // The pool pre-starts browsers itself, within its capacity
+            return null;
+        }
+        if (config.snapshot().isVirtualThreads()) {
+            // Every running scenario already holds a grid session; spares would exceed ui.grid.maxSessions
+            log.info("Driver provisioning disabled in virtual mode without the pool, at most {} sessions",
+                    config.getIntProperty("ui.grid.maxSessions", 50));
+            return null;
+        }
+        DriverProvisioner driverProvisioner = new DriverProvisioner(() -> DriverProvider.create(defaultKey), size);
+        Runtime.getRuntime().addShutdownHook(new Thread(driverProvisioner::shutdown, "driver-provisioner-shutdown"));
+        driverProvisioner.start();
+        return driverProvisioner;
+    }
+    
+    private static DriverPool createPool() {
+        if (!config.getBooleanProperty("ui.pool.enabled", true)) {
+            log.info("Driver pool disabled, starting a fresh browser per scenario");
+            return null;
+        }
+        DriverPool driverPool = new DriverPool(DriverManager::newDriver,
+                config.getIntProperty("ui.pool.maxSize", config.getParallelism()),
+                config.getIntProperty("ui.pool.maxUses", 50),
+                Duration.ofSeconds(config.getIntProperty("ui.pool.maxAgeSeconds", 1800)),
+                Duration.ofSeconds(config.getIntProperty("ui.pool.leaseTimeoutSeconds", 60)));
+        Runtime.getRuntime().addShutdownHook(new Thread(driverPool::shutdown, "driver-pool-shutdown"));
+        driverPool.prestart(defaultKey, config.getIntProperty("ui.provision.size", 1));
+        return driverPool;
+    }
 }
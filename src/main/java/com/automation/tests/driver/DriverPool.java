@@ -0,0 +1,235 @@
+package com.automation.tests.driver;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Bounded pool of live browsers.
+ * - A scenario leases a session for a {@link CapabilityKey}, the pool resets it on return instead of quitting it
+ * - Sessions are health-checked on lease and evicted after max uses / max age
+ * - At most {@code maxSize} browsers exist at once (starting + idle + leased), pre-started ones included
+ */
+public class DriverPool {
+    private static final Logger log = LoggerFactory.getLogger(DriverPool.class);
+    private static final long POLL_SLICE_MILLIS = 250;
+
+    private final Function<CapabilityKey, WebDriver> factory;
+    private final int maxSize;
+    private final int maxUses;
+    private final Duration maxAge;
+    private final Duration leaseTimeout;
+    private final BlockingDeque<DriverSession> idle = new LinkedBlockingDeque<>();
+    private final Semaphore capacity;
+    private volatile boolean closed;
+
+    public DriverPool(Function<CapabilityKey, WebDriver> factory, int maxSize, int maxUses, Duration maxAge, Duration leaseTimeout) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1, got " + maxSize);
+        }
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.maxUses = maxUses;
+        this.maxAge = maxAge;
+        this.leaseTimeout = leaseTimeout;
+        this.capacity = new Semaphore(maxSize, true);
+    }
+
+    public DriverSession lease(CapabilityKey key) {
+        return lease(key, false);
+    }
+
+    /** Always starts a new browser, making room by quitting an idle one; used to retry a failed scenario. */
+    public DriverSession leaseFresh(CapabilityKey key) {
+        return lease(key, true);
+    }
+
+    private DriverSession lease(CapabilityKey key, boolean fresh) {
+        long deadline = System.nanoTime() + leaseTimeout.toNanos();
+        while (true) {
+            if (closed) {
+                throw new IllegalStateException("Driver pool has been shut down");
+            }
+            DriverSession session = fresh ? null : pollIdle(key);
+            if (session != null) {
+                if (isReusable(session) && isHealthy(session)) {
+                    session.markLeased();
+                    log.debug("Reusing pooled browser (use #{}, age {}s)", session.getUses(), session.getAge().getSeconds());
+                    return session;
+                }
+                destroy(session);
+                continue;
+            }
+            if (capacity.tryAcquire() || evictIdle(key, fresh)) {
+                try {
+                    session = new DriverSession(factory.apply(key), key);
+                } catch (RuntimeException e) {
+                    capacity.release();
+                    throw e;
+                }
+                session.markLeased();
+                log.info("Started pooled {} browser ({} of max {})", key, maxSize - capacity.availablePermits(), maxSize);
+                return session;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new IllegalStateException("No browser available from pool within " + leaseTimeout.getSeconds()
+                        + "s (all " + maxSize + " sessions leased)");
+            }
+            try {
+                // Wake up either on a returned session or periodically to retry the capacity check
+                session = idle.pollFirst(Math.min(TimeUnit.NANOSECONDS.toMillis(remaining), POLL_SLICE_MILLIS),
+                        TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a pooled browser", e);
+            }
+            if (session != null) {
+                idle.offerFirst(session);
+            }
+        }
+    }
+
+    /**
+     * Starts up to {@code count} browsers for {@code key} on background threads and parks them as idle,
+     * so the first scenarios do not wait for browser start-up. Each one takes a slot of the pool's capacity.
+     */
+    public void prestart(CapabilityKey key, int count) {
+        for (int i = 1; i <= count && capacity.tryAcquire(); i++) {
+            Thread thread = new Thread(() -> prestartOne(key), "driver-prestart-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    public void release(DriverSession session) {
+        if (closed || !isReusable(session)) {
+            destroy(session);
+            return;
+        }
+        try {
+            reset(session.getRawDriver());
+            idle.offerFirst(session);
+        } catch (Exception e) {
+            log.warn("Could not reset browser, discarding it: {}", e.getMessage());
+            destroy(session);
+        }
+    }
+
+    public void discard(DriverSession session) {
+        destroy(session);
+    }
+
+    public void shutdown() {
+        closed = true;
+        List<DriverSession> remaining = new ArrayList<>();
+        idle.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            log.info("Shutting down driver pool ({} idle browsers)", remaining.size());
+        }
+        remaining.forEach(this::destroy);
+    }
+
+    private void prestartOne(CapabilityKey key) {
+        DriverSession session;
+        try {
+            session = new DriverSession(factory.apply(key), key);
+        } catch (RuntimeException e) {
+            capacity.release();
+            log.warn("Background browser start failed: {}", e.getMessage());
+            return;
+        }
+        if (closed) {
+            destroy(session);
+        } else {
+            // Behind returned sessions, which are already warm in every sense
+            idle.offerLast(session);
+            log.debug("Pre-started {} browser", key);
+        }
+    }
+
+    private DriverSession pollIdle(CapabilityKey key) {
+        for (Iterator<DriverSession> it = idle.iterator(); it.hasNext(); ) {
+            DriverSession session = it.next();
+            if (session.getKey().equals(key) && idle.removeFirstOccurrence(session)) {
+                return session;
+            }
+        }
+        return null;
+    }
+
+    /** Pool is full but some idle browser has the wrong capabilities (or any, when {@code fresh}): replace it instead of waiting. */
+    private boolean evictIdle(CapabilityKey key, boolean fresh) {
+        for (Iterator<DriverSession> it = idle.descendingIterator(); it.hasNext(); ) {
+            DriverSession session = it.next();
+            if ((fresh || !session.getKey().equals(key)) && idle.removeFirstOccurrence(session)) {
+                log.debug("Evicting idle {} browser to make room for {}", session.getKey(), key);
+                session.quit();
+                return true; // the evicted session's permit is handed straight to the caller
+            }
+        }
+        return false;
+    }
+
+    private boolean isReusable(DriverSession session) {
+        if (maxUses > 0 && session.getUses() >= maxUses) {
+            log.debug("Evicting browser after {} uses", session.getUses());
+            return false;
+        }
+        if (!maxAge.isZero() && session.getAge().compareTo(maxAge) > 0) {
+            log.debug("Evicting browser older than {}s", maxAge.getSeconds());
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isHealthy(DriverSession session) {
+        try {
+            return !session.getRawDriver().getWindowHandles().isEmpty();
+        } catch (Exception e) {
+            log.warn("Pooled browser failed health check: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void reset(WebDriver driver) {
+        List<String> handles = new ArrayList<>(driver.getWindowHandles());
+        for (String handle : handles.subList(1, handles.size())) {
+            driver.switchTo().window(handle);
+            driver.close();
+        }
+        driver.switchTo().window(handles.get(0));
+
+        // Storage is per-origin, so it has to be cleared before leaving the scenario's last page
+        try {
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+        } catch (Exception e) {
+            log.debug("Could not clear web storage: {}", e.getMessage());
+        }
+        driver.manage().deleteAllCookies();
+        if (driver instanceof HasCdp) {
+            // deleteAllCookies() only covers the current domain, CDP clears every domain
+            ((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+        }
+        driver.get("about:blank");
+    }
+
+    private void destroy(DriverSession session) {
+        session.quit();
+        capacity.release();
+    }
+}
@@ -0,0 +1,140 @@
+package com.automation.tests.driver;
+
+import com.automation.tests.config.ConfigManager;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.ImmutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.logging.LogType;
+import org.openqa.selenium.logging.LoggingPreferences;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.safari.SafariDriver;
+import org.openqa.selenium.safari.SafariOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Single place where browsers are created.
+ * - Browser options are built once per {@link CapabilityKey} and cached as immutable capabilities
+ * - Routes to a local driver or to Selenium Grid ({@code ui.grid.enabled})
+ * - Applies the configured timeouts and window size to every new session
+ */
+public final class DriverProvider {
+    private static final Logger log = LoggerFactory.getLogger(DriverProvider.class);
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final Map<CapabilityKey, Capabilities> optionsCache = new ConcurrentHashMap<>();
+
+    private DriverProvider() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static WebDriver create(CapabilityKey key) {
+        log.info("Creating WebDriver instance for {}", key);
+        try {
+            WebDriver driver = key.isRemote() ? createRemoteDriver(key) : createLocalDriver(key);
+
+            // Element waits are explicit (BasePage/WaitEngine); an implicit wait would stall every negative check
+            int timeout = config.snapshot().getTimeoutSeconds();
+            driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+            driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(timeout * 3L));
+            driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(timeout * 2L));
+            driver.manage().window().maximize();
+
+            log.info("WebDriver initialized successfully");
+            return driver;
+        } catch (Exception e) {
+            log.error("Failed to initialize WebDriver: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to initialize WebDriver for " + key, e);
+        }
+    }
+
+    /** Cached, immutable browser options for {@code key}. */
+    public static Capabilities options(CapabilityKey key) {
+        return optionsCache.computeIfAbsent(key, DriverProvider::buildOptions);
+    }
+
+    private static WebDriver createLocalDriver(CapabilityKey key) {
+        Capabilities options = options(key);
+        DriverBinaryResolver.resolve(key.getBrowser());
+        switch (key.getBrowser()) {
+            case "firefox":
+                return new FirefoxDriver(new FirefoxOptions(options));
+            case "edge":
+                return new EdgeDriver(new EdgeOptions().merge(options));
+            case "safari":
+                return new SafariDriver(new SafariOptions(options));
+            case "chrome":
+            default:
+                return new ChromeDriver(new ChromeOptions().merge(options));
+        }
+    }
+
+    private static WebDriver createRemoteDriver(CapabilityKey key) {
+        String gridUrl = config.snapshot().getGridUrl();
+        log.info("Using Selenium Grid at: {}", gridUrl);
+        try {
+            return new RemoteWebDriver(URI.create(gridUrl).toURL(), options(key));
+        } catch (MalformedURLException | IllegalArgumentException e) {
+            log.error("Invalid Grid URL: {}", gridUrl, e);
+            throw new RuntimeException("Invalid Grid URL: " + gridUrl, e);
+        }
+    }
+
+    private static Capabilities buildOptions(CapabilityKey key) {
+        switch (key.getBrowser()) {
+            case "firefox":
+                FirefoxOptions firefoxOptions = new FirefoxOptions();
+                if (key.isHeadless()) {
+                    firefoxOptions.addArguments("--headless");
+                }
+                return new ImmutableCapabilities(firefoxOptions);
+
+            case "edge":
+                EdgeOptions edgeOptions = new EdgeOptions();
+                if (key.isHeadless()) {
+                    edgeOptions.addArguments("--headless=new");
+                }
+                if (config.getBooleanProperty("ui.artifacts.console", true)) {
+                    edgeOptions.setCapability(EdgeOptions.LOGGING_PREFS, browserLogs());
+                }
+                return new ImmutableCapabilities(edgeOptions);
+
+            case "safari":
+                return new ImmutableCapabilities(new SafariOptions());
+
+            case "chrome":
+            default:
+                ChromeOptions chromeOptions = new ChromeOptions();
+                if (key.isHeadless()) {
+                    chromeOptions.addArguments("--headless=new");
+                }
+                chromeOptions.addArguments("--disable-gpu");
+                chromeOptions.addArguments("--no-sandbox");
+                chromeOptions.addArguments("--disable-dev-shm-usage");
+                chromeOptions.addArguments("--window-size=1920,1080");
+                if (config.getBooleanProperty("ui.artifacts.console", true)) {
+                    // Keeps console messages readable through driver.manage().logs() for failure artifacts
+                    chromeOptions.setCapability(ChromeOptions.LOGGING_PREFS, browserLogs());
+                }
+                return new ImmutableCapabilities(chromeOptions);
+        }
+    }
+
+    private static LoggingPreferences browserLogs() {
+        LoggingPreferences prefs = new LoggingPreferences();
+        prefs.enable(LogType.BROWSER, Level.ALL);
+        return prefs;
+    }
+}
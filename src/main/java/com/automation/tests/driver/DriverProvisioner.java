@@ -0,0 +1,125 @@
+package com.automation.tests.driver;
+
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Starts browsers ahead of time on background threads.
+ * - Keeps up to {@code capacity} browsers started or starting, so {@link #take()} usually returns instantly
+ * - Every {@link #take()} schedules a replacement, overlapping browser start-up with the running scenario
+ * - Falls back to starting a browser on the caller's thread when nothing is ready or in flight
+ */
+public class DriverProvisioner {
+    private static final Logger log = LoggerFactory.getLogger(DriverProvisioner.class);
+    private static final long POLL_SLICE_MILLIS = 200;
+
+    private final Supplier<WebDriver> factory;
+    private final int capacity;
+    private final BlockingQueue<WebDriver> ready = new LinkedBlockingQueue<>();
+    private final AtomicInteger starting = new AtomicInteger();
+    private final ExecutorService executor;
+    private volatile boolean closed;
+
+    public DriverProvisioner(Supplier<WebDriver> factory, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Provisioner capacity must be at least 1, got " + capacity);
+        }
+        this.factory = factory;
+        this.capacity = capacity;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(capacity, runnable -> {
+            Thread thread = new Thread(runnable, "driver-provisioner-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** Begins filling the buffer without waiting for a first {@link #take()}. */
+    public void start() {
+        refill();
+    }
+
+    public WebDriver take() {
+        WebDriver driver = ready.poll();
+        try {
+            // A browser already half-way through start-up beats starting another one from scratch
+            while (driver == null && starting.get() > 0 && !closed) {
+                driver = ready.poll(POLL_SLICE_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a provisioned browser", e);
+        }
+        refill();
+        if (driver != null) {
+            log.debug("Took pre-started browser ({} ready, {} starting)", ready.size(), starting.get());
+            return driver;
+        }
+        log.debug("No pre-started browser available, starting one on {}", Thread.currentThread().getName());
+        return factory.get();
+    }
+
+    public void shutdown() {
+        closed = true;
+        executor.shutdownNow();
+        List<WebDriver> idle = new ArrayList<>();
+        ready.drainTo(idle);
+        if (!idle.isEmpty()) {
+            log.info("Shutting down driver provisioner ({} idle browsers)", idle.size());
+        }
+        idle.forEach(DriverProvisioner::quitQuietly);
+    }
+
+    private void refill() {
+        while (!closed) {
+            int inFlight = starting.get();
+            if (ready.size() + inFlight >= capacity) {
+                return;
+            }
+            if (starting.compareAndSet(inFlight, inFlight + 1)) {
+                try {
+                    executor.execute(this::startOne);
+                } catch (RejectedExecutionException e) {
+                    // Shut down between the closed check and the submit
+                    starting.decrementAndGet();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void startOne() {
+        try {
+            WebDriver driver = factory.get();
+            if (closed) {
+                quitQuietly(driver);
+            } else {
+                ready.add(driver);
+            }
+        } catch (Exception e) {
+            log.warn("Background browser start failed: {}", e.getMessage());
+        } finally {
+            starting.decrementAndGet();
+        }
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            log.debug("Error quitting WebDriver: {}", e.getMessage());
+        }
+    }
+}
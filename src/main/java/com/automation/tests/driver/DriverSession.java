@@ -0,0 +1,135 @@
+package com.automation.tests.driver;
+
+import com.automation.tests.diagnostics.FlightRecorder;
+import com.automation.tests.metrics.CommandBudget;
+import com.automation.tests.metrics.CommandCountingListener;
+import com.automation.tests.metrics.CommandTimingListener;
+import com.automation.tests.metrics.Metrics;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A browser owned by {@link DriverManager}, tagged with the {@link CapabilityKey} it was created for,
+ * together with the bookkeeping the {@link DriverPool} needs to decide whether it may be handed out again.
+ */
+public class DriverSession {
+    private static final Logger log = LoggerFactory.getLogger(DriverSession.class);
+    private final WebDriver rawDriver;
+    private final WebDriver driver;
+    private final CapabilityKey key;
+    private final Instant createdAt = Instant.now();
+    private final Map<Class<?>, Object> leaseScoped = new ConcurrentHashMap<>();
+    private final FlightRecorder recorder = FlightRecorder.isEnabled() ? new FlightRecorder() : null;
+    private int uses;
+    private NetworkFilter networkFilter;
+    private boolean networkFilterAttached;
+
+    DriverSession(WebDriver driver, CapabilityKey key) {
+        this.rawDriver = driver;
+        // Page objects get the timed view, pool housekeeping and DevTools use the raw browser
+        this.driver = decorate(driver);
+        this.key = key;
+    }
+
+    private WebDriver decorate(WebDriver driver) {
+        List<WebDriverListener> listeners = new ArrayList<>();
+        if (recorder != null) {
+            listeners.add(recorder);
+        }
+        if (Metrics.isEnabled()) {
+            listeners.add(new CommandTimingListener());
+        }
+        if (CommandBudget.isEnabled()) {
+            listeners.add(new CommandCountingListener());
+        }
+        return listeners.isEmpty() ? driver
+                : new EventFiringDecorator<>(listeners.toArray(new WebDriverListener[0])).decorate(driver);
+    }
+
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    WebDriver getRawDriver() {
+        return rawDriver;
+    }
+
+    public CapabilityKey getKey() {
+        return key;
+    }
+
+    public int getUses() {
+        return uses;
+    }
+
+    public Duration getAge() {
+        return Duration.between(createdAt, Instant.now());
+    }
+
+    /**
+     * Per-lease helper state (caches, recorders, ...) attached to this browser.
+     * Dropped whenever the session is handed to a new scenario, so nothing leaks between scenarios.
+     */
+    public <T> T scoped(Class<T> type, Supplier<T> factory) {
+        return type.cast(leaseScoped.computeIfAbsent(type, t -> factory.get()));
+    }
+
+    /**
+     * Applies the scenario's request blocking. The DevTools session is only opened the first time
+     * a scenario actually blocks something, and then kept for the lifetime of the browser.
+     */
+    public void applyNetworkRules(NetworkRules rules) {
+        if (!networkFilterAttached && rules.isEnabled()) {
+            networkFilterAttached = true;
+            networkFilter = NetworkFilter.attach(rawDriver);
+            if (networkFilter == null) {
+                log.info("Request blocking not supported for {} browser, ignoring {}", key, rules);
+            }
+        }
+        if (networkFilter != null) {
+            networkFilter.apply(rules);
+        }
+    }
+
+    /** The filter of this browser, if request blocking was ever used on it. */
+    public Optional<NetworkFilter> getNetworkFilter() {
+        return Optional.ofNullable(networkFilter);
+    }
+
+    /** Recent driver calls of the current scenario, unless {@code ui.recorder.enabled=false}. */
+    public Optional<FlightRecorder> getFlightRecorder() {
+        return Optional.ofNullable(recorder);
+    }
+
+    void markLeased() {
+        uses++;
+        leaseScoped.clear();
+        if (recorder != null) {
+            recorder.clear();
+        }
+    }
+
+    void quit() {
+        if (networkFilter != null) {
+            networkFilter.close();
+        }
+        try {
+            rawDriver.quit();
+        } catch (Exception e) {
+            // The session may already be gone (crashed browser, killed grid node)
+            log.debug("Error quitting WebDriver: {}", e.getMessage());
+        }
+    }
+}
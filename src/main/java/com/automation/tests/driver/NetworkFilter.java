@@ -0,0 +1,158 @@
+package com.automation.tests.driver;
+
+import com.automation.tests.config.ConfigManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Blocks requests inside a Chromium browser through DevTools ({@code Network.setBlockedURLs}),
+ * so {@code document.readyState} no longer waits for images, fonts and third-party scripts.
+ * - Attached once per browser, rules are re-applied for every scenario that leases it
+ * - Counts what was blocked since the last {@link #apply}; with {@code ui.network.block.measureSavings=true}
+ *   the bytes saved are estimated from HEAD requests (cached per URL for the whole run)
+ * - Raw CDP commands/events only, so it does not depend on a specific selenium-devtools-vNNN module
+ */
+public class NetworkFilter {
+    private static final Logger log = LoggerFactory.getLogger(NetworkFilter.class);
+    private static final Map<String, Long> CONTENT_LENGTHS = new ConcurrentHashMap<>();
+    private static final HttpClient HTTP = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(Duration.ofSeconds(2))
+            .build();
+
+    private final DevTools devTools;
+    private final boolean measureSavings = ConfigManager.getInstance()
+            .getBooleanProperty("ui.network.block.measureSavings", false);
+    private final Map<String, String> pendingUrls = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> blockedByType = new ConcurrentHashMap<>();
+    private final Set<String> blockedUrls = ConcurrentHashMap.newKeySet();
+    private volatile NetworkRules rules = NetworkRules.none();
+
+    private NetworkFilter(DevTools devTools) {
+        this.devTools = devTools;
+    }
+
+    /** A filter for {@code driver}, or {@code null} when the browser has no DevTools (Firefox, Safari, plain remote). */
+    static NetworkFilter attach(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            return null;
+        }
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            NetworkFilter filter = new NetworkFilter(devTools);
+            filter.listen();
+            devTools.send(new Command<>("Network.enable", Map.of()));
+            return filter;
+        } catch (Exception e) {
+            log.warn("Could not open a DevTools session, requests will not be filtered: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /** Replaces the blocked URL list and starts a fresh count. */
+    public void apply(NetworkRules newRules) {
+        pendingUrls.clear();
+        blockedByType.clear();
+        blockedUrls.clear();
+        if (!newRules.isEnabled() && !rules.isEnabled()) {
+            return;
+        }
+        devTools.send(new Command<>("Network.setBlockedURLs", Map.of("urls", newRules.urlPatterns())));
+        rules = newRules;
+        log.debug("Network filter: {}", newRules);
+    }
+
+    public boolean isActive() {
+        return rules.isEnabled();
+    }
+
+    public int getBlockedCount() {
+        return blockedByType.values().stream().mapToInt(AtomicInteger::get).sum();
+    }
+
+    /** Blocked requests per CDP resource type (Image, Script, Font, ...) since the last {@link #apply}. */
+    public Map<String, Integer> getBlockedByType() {
+        Map<String, Integer> counts = new TreeMap<>();
+        blockedByType.forEach((type, n) -> counts.put(type, n.get()));
+        return counts;
+    }
+
+    /** Sum of Content-Length for the blocked URLs, or -1 when measuring is switched off. */
+    public long getBytesSaved() {
+        if (!measureSavings) {
+            return -1;
+        }
+        CompletableFuture<?>[] lookups = blockedUrls.stream()
+                .filter(url -> url.startsWith("http") && !CONTENT_LENGTHS.containsKey(url))
+                .map(url -> HTTP.sendAsync(HttpRequest.newBuilder(URI.create(url))
+                                        .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                                        .timeout(Duration.ofSeconds(3))
+                                        .build(),
+                                HttpResponse.BodyHandlers.discarding())
+                        .thenAccept(r -> CONTENT_LENGTHS.put(url, r.headers().firstValueAsLong("Content-Length").orElse(0)))
+                        .exceptionally(e -> {
+                            CONTENT_LENGTHS.put(url, 0L);
+                            return null;
+                        }))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(lookups).join();
+        return blockedUrls.stream().mapToLong(url -> CONTENT_LENGTHS.getOrDefault(url, 0L)).sum();
+    }
+
+    public String summary() {
+        long bytes = getBytesSaved();
+        return String.format("Network filter blocked %d requests %s%s", getBlockedCount(), getBlockedByType(),
+                bytes < 0 ? "" : String.format(", ~%d KB saved", bytes / 1024));
+    }
+
+    void close() {
+        try {
+            devTools.close();
+        } catch (Exception e) {
+            log.debug("Error closing DevTools session: {}", e.getMessage());
+        }
+    }
+
+    private static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, in -> in.read(Json.MAP_TYPE));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void listen() {
+        devTools.addListener(event("Network.requestWillBeSent"), params -> {
+            Map<String, Object> request = (Map<String, Object>) params.get("request");
+            pendingUrls.put((String) params.get("requestId"), String.valueOf(request.get("url")));
+        });
+        devTools.addListener(event("Network.loadingFinished"),
+                params -> pendingUrls.remove((String) params.get("requestId")));
+        devTools.addListener(event("Network.loadingFailed"), params -> {
+            String url = pendingUrls.remove((String) params.get("requestId"));
+            // "inspector" is the reason Chrome reports for requests matched by setBlockedURLs
+            if ("inspector".equals(params.get("blockedReason"))) {
+                blockedByType.computeIfAbsent(String.valueOf(params.get("type")), t -> new AtomicInteger()).incrementAndGet();
+                if (url != null) {
+                    blockedUrls.add(url);
+                }
+            }
+        });
+    }
+}
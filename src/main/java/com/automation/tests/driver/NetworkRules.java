@@ -0,0 +1,112 @@
+package com.automation.tests.driver;
+
+import com.automation.tests.config.ConfigManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Which requests a browser should never make: URL globs ({@code *} wildcards, as in
+ * CDP {@code Network.setBlockedURLs}) plus whole resource types (image, font, media, ...).
+ * Defaults come from {@code ui.network.block.*}, scenarios narrow or widen them with tags.
+ */
+public final class NetworkRules {
+    private static final NetworkRules NONE = new NetworkRules(false, Collections.emptyList(), Collections.emptySet());
+
+    // Blocking happens inside the browser before the request exists, so types map to URL suffixes
+    private static final Map<String, List<String>> TYPE_EXTENSIONS = Map.of(
+            "image", List.of("png", "jpg", "jpeg", "gif", "webp", "avif", "svg", "ico"),
+            "font", List.of("woff", "woff2", "ttf", "otf", "eot"),
+            "media", List.of("mp4", "webm", "mp3", "ogg", "wav"),
+            "stylesheet", List.of("css"),
+            "script", List.of("js"));
+
+    private final boolean enabled;
+    private final List<String> patterns;
+    private final Set<String> types;
+
+    private NetworkRules(boolean enabled, List<String> patterns, Set<String> types) {
+        this.enabled = enabled;
+        this.patterns = Collections.unmodifiableList(patterns);
+        this.types = Collections.unmodifiableSet(types);
+    }
+
+    public static NetworkRules none() {
+        return NONE;
+    }
+
+    public static NetworkRules fromConfig() {
+        ConfigManager config = ConfigManager.getInstance();
+        return new NetworkRules(
+                config.getBooleanProperty("ui.network.block.enabled", false),
+                csv(config.getProperty("ui.network.block.patterns", "")),
+                types(csv(config.getProperty("ui.network.block.types", ""))));
+    }
+
+    /** Adds a URL glob and switches blocking on, even when it is disabled in the configuration. */
+    public NetworkRules withPattern(String pattern) {
+        List<String> merged = new ArrayList<>(patterns);
+        merged.add(pattern);
+        return new NetworkRules(true, merged, types);
+    }
+
+    /** Replaces the blocked resource types and switches blocking on. */
+    public NetworkRules withTypes(Collection<String> resourceTypes) {
+        return new NetworkRules(true, patterns, types(new ArrayList<>(resourceTypes)));
+    }
+
+    public boolean isEnabled() {
+        return enabled && !(patterns.isEmpty() && types.isEmpty());
+    }
+
+    public Set<String> getTypes() {
+        return types;
+    }
+
+    /** Everything to pass to {@code Network.setBlockedURLs}: explicit globs followed by the type suffixes. */
+    public List<String> urlPatterns() {
+        if (!isEnabled()) {
+            return Collections.emptyList();
+        }
+        Set<String> urls = new LinkedHashSet<>(patterns);
+        for (String type : types) {
+            for (String ext : TYPE_EXTENSIONS.get(type)) {
+                urls.add("*." + ext);
+                urls.add("*." + ext + "?*");
+            }
+        }
+        return new ArrayList<>(urls);
+    }
+
+    private static List<String> csv(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    private static Set<String> types(List<String> names) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String name : names) {
+            String type = name.toLowerCase();
+            if (!TYPE_EXTENSIONS.containsKey(type)) {
+                throw new IllegalArgumentException("Unknown resource type '" + name
+                        + "' to block, expected one of " + TYPE_EXTENSIONS.keySet());
+            }
+            result.add(type);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return isEnabled() ? "block " + patterns + " types " + types : "no blocking";
+    }
+}
@@ -0,0 +1,177 @@
+package com.automation.tests.history;
+
+import com.automation.tests.config.ConfigManager;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Properties;
+
+/**
+ * Small local store of scenario durations, fed from previous {@code cucumber.json} reports.
+ * - One entry per scenario ({@code features/login.feature:10}), an exponentially weighted average
+ *   so a single slow run does not dominate ({@code ui.history.alpha}, default 0.5)
+ * - Scenarios without history cost the median of the known ones, or {@code ui.history.defaultCostMs}
+ * - Stored in {@code ui.history.file} (default {@code .ui-test-history/scenario-durations.properties})
+ */
+public final class DurationHistory {
+    private static final Logger log = LoggerFactory.getLogger(DurationHistory.class);
+    private static final String IMPORTED = "__imported";
+    private static final String MS = ".ms";
+    private static final String SAMPLES = ".samples";
+
+    private final ConfigManager config = ConfigManager.getInstance();
+    private final Path file;
+    private final Properties store;
+
+    private DurationHistory(Path file) {
+        this.file = file;
+        this.store = HistoryFile.load(file);
+    }
+
+    public static DurationHistory load() {
+        return load(Paths.get(ConfigManager.getInstance()
+                .getProperty("ui.history.file", ".ui-test-history/scenario-durations.properties")));
+    }
+
+    static DurationHistory load(Path file) {
+        return new DurationHistory(file);
+    }
+
+    /** {@code classpath:features/login.feature} + 10 -> {@code features/login.feature:10}, whatever the URI scheme. */
+    public static String key(URI uri, int line) {
+        return key(uri.toString(), line);
+    }
+
+    public static String key(String uri, int line) {
+        String path = uri.replaceFirst("^[a-z]+:", "").replace('\\', '/');
+        int features = path.lastIndexOf("features/");
+        return (features >= 0 ? path.substring(features) : path.replaceFirst("^/+", "")) + ":" + line;
+    }
+
+    public OptionalLong estimateMillis(String key) {
+        String ms = store.getProperty(key + MS);
+        return ms == null ? OptionalLong.empty() : OptionalLong.of(Long.parseLong(ms));
+    }
+
+    /** History when known, otherwise the default cost. */
+    public long costMillis(String key) {
+        OptionalLong known = estimateMillis(key);
+        return known.isPresent() ? known.getAsLong() : defaultCostMillis();
+    }
+
+    public long defaultCostMillis() {
+        List<Long> known = new ArrayList<>();
+        for (String name : store.stringPropertyNames()) {
+            if (name.endsWith(MS)) {
+                known.add(Long.parseLong(store.getProperty(name)));
+            }
+        }
+        if (known.isEmpty()) {
+            return config.getIntProperty("ui.history.defaultCostMs", 5000);
+        }
+        Collections.sort(known);
+        return known.get(known.size() / 2);
+    }
+
+    public void record(String key, long millis) {
+        double alpha = config.getDoubleProperty("ui.history.alpha", 0.5);
+        OptionalLong previous = estimateMillis(key);
+        long estimate = previous.isPresent() ? Math.round(alpha * millis + (1 - alpha) * previous.getAsLong()) : millis;
+        int samples = Integer.parseInt(store.getProperty(key + SAMPLES, "0")) + 1;
+        store.setProperty(key + MS, String.valueOf(estimate));
+        store.setProperty(key + SAMPLES, String.valueOf(samples));
+    }
+
+    /**
+     * Adds the scenario durations of a cucumber.json report. A report is imported only once
+     * (remembered by path, size and modification time); returns false if it was already known.
+     */
+    @SuppressWarnings("unchecked")
+    public boolean importCucumberJson(Path report) throws IOException {
+        String signature = signature(report);
+        if (signature.equals(store.getProperty(IMPORTED))) {
+            return false;
+        }
+        List<Map<String, Object>> features = new Json().toType(
+                new String(Files.readAllBytes(report), StandardCharsets.UTF_8), Json.LIST_OF_MAPS_TYPE);
+        int scenarios = 0;
+        for (Map<String, Object> feature : features) {
+            String uri = String.valueOf(feature.get("uri"));
+            long background = 0;
+            for (Map<String, Object> element : (List<Map<String, Object>>) feature.getOrDefault("elements", List.of())) {
+                Duration duration = duration(element);
+                if ("background".equals(element.get("type"))) {
+                    background = duration.nanos; // the json formatter repeats the background before every scenario
+                    continue;
+                }
+                if (duration.complete) {
+                    record(key(uri, ((Number) element.get("line")).intValue()), (background + duration.nanos) / 1_000_000);
+                    scenarios++;
+                }
+                background = 0;
+            }
+        }
+        store.setProperty(IMPORTED, signature);
+        log.info("Imported {} scenario durations from {}", scenarios, report);
+        return true;
+    }
+
+    /** Marks a report as imported without reading it, e.g. one written by a dry run. */
+    public void ignore(Path report) throws IOException {
+        store.setProperty(IMPORTED, signature(report));
+    }
+
+    /** Takes over what sharded runs recorded in their copies of this history (see {@code HistoryMerger}). */
+    public void mergeShards(List<Path> shardFiles) {
+        HistoryFile.mergeShards(store, shardFiles);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public void save() {
+        HistoryFile.save(file, store, "Scenario durations (ms, weighted average) used to schedule scenarios longest-first");
+    }
+
+    private static String signature(Path report) throws IOException {
+        return report.toAbsolutePath() + "@" + Files.size(report) + "@" + Files.getLastModifiedTime(report).toMillis();
+    }
+
+    // Hooks + steps; a scenario with skipped / undefined steps did not run completely and says nothing about its cost
+    @SuppressWarnings("unchecked")
+    private static Duration duration(Map<String, Object> element) {
+        Duration total = new Duration();
+        for (String part : new String[] {"before", "steps", "after"}) {
+            for (Map<String, Object> step : (List<Map<String, Object>>) element.getOrDefault(part, List.of())) {
+                Map<String, Object> result = (Map<String, Object>) step.getOrDefault("result", Map.of());
+                Object status = result.get("status");
+                if ("skipped".equals(status) || "undefined".equals(status) || "pending".equals(status)) {
+                    total.complete = false;
+                }
+                Object nanos = result.get("duration");
+                if (nanos instanceof Number) {
+                    total.nanos += ((Number) nanos).longValue();
+                }
+            }
+        }
+        return total;
+    }
+
+    private static final class Duration {
+        private long nanos;
+        private boolean complete = true;
+    }
+}
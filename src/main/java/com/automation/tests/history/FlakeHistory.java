@@ -0,0 +1,106 @@
+package com.automation.tests.history;
+
+import com.automation.tests.config.ConfigManager;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Pass/fail history per scenario ({@link DurationHistory#key}), the last {@code ui.flaky.window} runs as one
+ * letter each: {@code P} passed, {@code F} failed (also on every retry), {@code R} failed and passed on a retry.
+ * - Flake rate = share of {@code R} runs; a failure that never passes is a real failure, not a flake
+ * - Quarantined: at least {@code ui.flaky.minRuns} runs and a flake rate of {@code ui.flaky.threshold} or more;
+ *   quarantined scenarios keep being recorded and leave quarantine once their window is clean enough
+ * - Stored in {@code ui.flaky.file} (default {@code .ui-test-history/scenario-flakes.properties})
+ */
+public final class FlakeHistory {
+    private static final char PASSED = 'P';
+    private static final char FAILED = 'F';
+    private static final char RECOVERED = 'R';
+
+    private final ConfigManager config = ConfigManager.getInstance();
+    private final Path file;
+    private final Properties store;
+
+    private FlakeHistory(Path file) {
+        this.file = file;
+        this.store = HistoryFile.load(file);
+    }
+
+    public static FlakeHistory load() {
+        return load(Paths.get(ConfigManager.getInstance()
+                .getProperty("ui.flaky.file", ".ui-test-history/scenario-flakes.properties")));
+    }
+
+    static FlakeHistory load(Path file) {
+        return new FlakeHistory(file);
+    }
+
+    /** Outcome of a scenario's first attempt in a run. */
+    public void recordRun(String key, boolean passed) {
+        int window = Math.max(1, config.getIntProperty("ui.flaky.window", 20));
+        String outcomes = store.getProperty(key, "") + (passed ? PASSED : FAILED);
+        store.setProperty(key, outcomes.substring(Math.max(0, outcomes.length() - window)));
+    }
+
+    /** Outcome of a retry: a pass turns the run's failure into a flake. */
+    public void recordRetry(String key, boolean passed) {
+        String outcomes = store.getProperty(key, "");
+        if (passed && !outcomes.isEmpty() && outcomes.charAt(outcomes.length() - 1) == FAILED) {
+            store.setProperty(key, outcomes.substring(0, outcomes.length() - 1) + RECOVERED);
+        }
+    }
+
+    public double flakeRate(String key) {
+        String outcomes = store.getProperty(key, "");
+        if (outcomes.isEmpty()) {
+            return 0;
+        }
+        return (double) outcomes.chars().filter(c -> c == RECOVERED).count() / outcomes.length();
+    }
+
+    public boolean isQuarantined(String key) {
+        return store.getProperty(key, "").length() >= config.getIntProperty("ui.flaky.minRuns", 5)
+                && flakeRate(key) >= config.getDoubleProperty("ui.flaky.threshold", 0.2);
+    }
+
+    public Set<String> quarantined() {
+        Set<String> keys = new TreeSet<>();
+        for (String key : store.stringPropertyNames()) {
+            if (isQuarantined(key)) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    /** Scenario -> flake rate, for every scenario that recovered on a retry at least once in its window. */
+    public Map<String, Double> flaky() {
+        Map<String, Double> rates = new TreeMap<>();
+        for (String key : store.stringPropertyNames()) {
+            if (flakeRate(key) > 0) {
+                rates.put(key, flakeRate(key));
+            }
+        }
+        return rates;
+    }
+
+    /** Takes over what sharded runs recorded in their copies of this history (see {@code HistoryMerger}). */
+    public void mergeShards(List<Path> shardFiles) {
+        HistoryFile.mergeShards(store, shardFiles);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public void save() {
+        HistoryFile.save(file, store, "Scenario outcomes, oldest first: P passed, F failed, R passed on retry");
+    }
+}
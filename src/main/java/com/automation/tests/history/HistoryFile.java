@@ -0,0 +1,66 @@
+package com.automation.tests.history;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Properties;
+
+/** Properties files kept between runs: unreadable files start empty, writes replace the file atomically. */
+final class HistoryFile {
+    private static final Logger log = LoggerFactory.getLogger(HistoryFile.class);
+
+    // Private constructor to prevent instantiation
+    private HistoryFile() {
+    }
+
+    static Properties load(Path file) {
+        Properties store = new Properties();
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                store.load(in);
+            } catch (IOException e) {
+                log.warn("Ignoring unreadable history file {}: {}", file, e.getMessage());
+            }
+        }
+        return store;
+    }
+
+    static void save(Path file, Properties store, String comment) {
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                store.store(out, comment);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write history file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Takes over into {@code store} what each shard's copy changed relative to {@code store}'s current content,
+     * the state every shard started from. Shards run disjoint scenarios, so their changes do not overlap.
+     */
+    static void mergeShards(Properties store, List<Path> shardFiles) {
+        Properties base = new Properties();
+        base.putAll(store);
+        for (Path shardFile : shardFiles) {
+            Properties shard = load(shardFile);
+            for (String key : shard.stringPropertyNames()) {
+                String value = shard.getProperty(key);
+                if (!value.equals(base.getProperty(key))) {
+                    store.setProperty(key, value);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.automation.tests.history;
+
+import com.automation.tests.config.ConfigManager;
+
+import java.util.Set;
+
+/**
+ * Keeps flaky scenarios ({@link FlakeHistory#quarantined()}) out of the regular run and runs them on their own.
+ * {@code ui.quarantine.mode}: {@code exclude} (default) skips them, {@code only} runs nothing else,
+ * {@code include} ignores the quarantine.
+ */
+public final class Quarantine {
+    private final String mode;
+    private final Set<String> quarantined;
+
+    private Quarantine(String mode, Set<String> quarantined) {
+        if (!"exclude".equals(mode) && !"only".equals(mode) && !"include".equals(mode)) {
+            throw new IllegalArgumentException("Unknown ui.quarantine.mode '" + mode + "', expected exclude, only or include");
+        }
+        this.mode = mode;
+        this.quarantined = quarantined;
+    }
+
+    public static Quarantine fromConfig() {
+        String mode = ConfigManager.getInstance().getProperty("ui.quarantine.mode", "exclude").trim().toLowerCase();
+        return new Quarantine(mode, "include".equals(mode) ? Set.of() : FlakeHistory.load().quarantined());
+    }
+
+    /** Whether this run has anything to drop; {@code only} with an empty quarantine runs nothing. */
+    public boolean isActive() {
+        return "only".equals(mode) || !quarantined.isEmpty();
+    }
+
+    public boolean runs(String key) {
+        return "only".equals(mode) == quarantined.contains(key);
+    }
+
+    public Set<String> getQuarantined() {
+        return quarantined;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("quarantine %s (%d scenarios)", mode, quarantined.size());
+    }
+}
@@ -0,0 +1,122 @@
+package com.automation.tests.history;
+
+import com.automation.tests.config.ConfigManager;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Which scenarios one CI machine runs out of {@code shard.total} ({@code shard.index} is 1-based).
+ * Every machine computes the same split on its own, without talking to the others:
+ * - {@code shard.strategy=hash} (default): hash of the scenario key, independent of what else is selected
+ * - {@code shard.strategy=duration}: greedy longest-first packing on {@link DurationHistory}, balanced as
+ *   long as every machine sees the same history file and the same scenario selection
+ */
+public final class ShardPlan {
+    private static final ShardPlan SINGLE = new ShardPlan(1, 1, "hash");
+
+    private final int index;
+    private final int total;
+    private final String strategy;
+
+    private ShardPlan(int index, int total, String strategy) {
+        if (total < 1 || index < 1 || index > total) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid shard %d/%d: shard.index must be between 1 and shard.total", index, total));
+        }
+        if (!"hash".equals(strategy) && !"duration".equals(strategy)) {
+            throw new IllegalArgumentException("Unknown shard.strategy '" + strategy + "', expected hash or duration");
+        }
+        this.index = index;
+        this.total = total;
+        this.strategy = strategy;
+    }
+
+    public static ShardPlan fromConfig() {
+        ConfigManager config = ConfigManager.getInstance();
+        int total = config.getIntProperty("shard.total", 1);
+        if (total <= 1) {
+            return SINGLE;
+        }
+        return of(config.getIntProperty("shard.index", 1), total,
+                config.getProperty("shard.strategy", "hash").trim().toLowerCase());
+    }
+
+    static ShardPlan of(int index, int total, String strategy) {
+        return new ShardPlan(index, total, strategy);
+    }
+
+    public boolean isSharded() {
+        return total > 1;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /** The keys ({@link DurationHistory#key}) out of all discovered scenarios that belong to this shard. */
+    public Set<String> select(Collection<String> keys) {
+        return select(keys, "duration".equals(strategy) && isSharded() ? DurationHistory.load() : null);
+    }
+
+    Set<String> select(Collection<String> keys, DurationHistory history) {
+        Set<String> all = new TreeSet<>(keys);
+        if (!isSharded()) {
+            return all;
+        }
+        Set<String> mine = new LinkedHashSet<>();
+        if ("hash".equals(strategy)) {
+            for (String key : all) {
+                if (Math.floorMod(hash(key), total) == index - 1) {
+                    mine.add(key);
+                }
+            }
+            return mine;
+        }
+        long fallback = history.defaultCostMillis();
+        List<String> longestFirst = new ArrayList<>(all);
+        longestFirst.sort(Comparator.comparingLong((String key) -> history.estimateMillis(key).orElse(fallback))
+                .reversed()
+                .thenComparing(Comparator.naturalOrder()));
+        long[] loads = new long[total];
+        for (String key : longestFirst) {
+            int lightest = 0;
+            for (int i = 1; i < total; i++) {
+                if (loads[i] < loads[lightest]) lightest = i;
+            }
+            loads[lightest] += history.estimateMillis(key).orElse(fallback);
+            if (lightest == index - 1) {
+                mine.add(key);
+            }
+        }
+        return mine;
+    }
+
+    // CRC32 and String.hashCode barely move when only the line number changes; SHA-256 spreads keys evenly
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return isSharded() ? String.format("shard %d/%d (%s)", index, total, strategy) : "no sharding";
+    }
+}
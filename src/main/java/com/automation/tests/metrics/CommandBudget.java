@@ -0,0 +1,95 @@
+package com.automation.tests.metrics;
+
+import com.automation.tests.config.ConfigManager;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Per-scenario limit on WebDriver round trips.
+ * - {@link #start} arms a budget for the current thread, {@link CommandCountingListener} counts every call
+ * - {@link #finish} returns the breakdown (by command and by the BasePage helper that issued it)
+ *   when the scenario went over its budget
+ * Defaults: {@code ui.budget.commands} (0 = no budget) and {@code ui.budget.enforce}.
+ */
+public final class CommandBudget {
+    private static final ConfigManager config = ConfigManager.getInstance();
+    private static final ThreadLocal<CommandBudget> current = new ThreadLocal<>();
+
+    private final int limit;
+    private final boolean enforce;
+    private final Map<String, Integer> byCommand = new LinkedHashMap<>();
+    private final Map<String, Integer> byHelper = new LinkedHashMap<>();
+    private int total;
+
+    private CommandBudget(int limit, boolean enforce) {
+        this.limit = limit;
+        this.enforce = enforce;
+    }
+
+    public static boolean isEnabled() {
+        return config.getBooleanProperty("ui.budget.enabled", true);
+    }
+
+    public static int defaultLimit() {
+        return config.getIntProperty("ui.budget.commands", 0);
+    }
+
+    public static boolean defaultEnforce() {
+        return config.getBooleanProperty("ui.budget.enforce", false);
+    }
+
+    /** Starts counting for the scenario on this thread; {@code limit <= 0} only counts. */
+    public static void start(int limit, boolean enforce) {
+        current.set(new CommandBudget(limit, enforce));
+    }
+
+    /** Stops counting; returns the budget if the scenario overspent it. */
+    public static Optional<CommandBudget> finish() {
+        CommandBudget budget = current.get();
+        current.remove();
+        return budget != null && budget.limit > 0 && budget.total > budget.limit
+                ? Optional.of(budget)
+                : Optional.empty();
+    }
+
+    static void count(String command, String helper) {
+        CommandBudget budget = current.get();
+        if (budget != null) {
+            budget.total++;
+            budget.byCommand.merge(command, 1, Integer::sum);
+            budget.byHelper.merge(helper, 1, Integer::sum);
+        }
+    }
+
+    static boolean isCounting() {
+        return current.get() != null;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public boolean isEnforced() {
+        return enforce;
+    }
+
+    public String breakdown() {
+        return String.format("%d WebDriver commands, budget %d%n  by command: %s%n  by helper:  %s",
+                total, limit, sorted(byCommand), sorted(byHelper));
+    }
+
+    private static String sorted(Map<String, Integer> counts) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .map(e -> e.getKey() + "=" + e.getValue())
+                .collect(Collectors.joining(", "));
+    }
+}
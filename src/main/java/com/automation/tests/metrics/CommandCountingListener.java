@@ -0,0 +1,43 @@
+package com.automation.tests.metrics;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+
+/**
+ * Counts driver calls towards the {@link CommandBudget} of the running scenario, attributing each
+ * one to the innermost BasePage helper on the stack (or the page-object method that called the driver directly).
+ */
+public class CommandCountingListener implements WebDriverListener {
+    private static final String BASE_PAGE = "com.automation.tests.pages.base.BasePage";
+    private static final String PAGES_PACKAGE = "com.automation.tests.pages.";
+    private static final String PAGES_BASE_PACKAGE = "com.automation.tests.pages.base.";
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        // Local getters like navigate() are not round trips: navigate().refresh() counts once
+        if (!CommandBudget.isCounting() || CommandTimingListener.isLocal(method)) {
+            return;
+        }
+        CommandBudget.count(method.getName(), caller());
+    }
+
+    private static String caller() {
+        Optional<StackWalker.StackFrame> frame = WALKER.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(PAGES_PACKAGE))
+                .filter(f -> f.getClassName().equals(BASE_PAGE) || !f.getClassName().startsWith(PAGES_BASE_PACKAGE))
+                .findFirst());
+        return frame.map(f -> simpleName(f.getClassName()) + "." + methodName(f.getMethodName())).orElse("other");
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    // lambda$waitForPageLoad$3 -> waitForPageLoad
+    private static String methodName(String name) {
+        return name.startsWith("lambda$") ? name.split("\\$")[1] : name;
+    }
+}
@@ -0,0 +1,114 @@
+package com.automation.tests.metrics;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.logging.Logs;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Times every WebDriver / WebElement / Navigation / ... call made through the decorated driver
+ * and charges it to the page-object method that issued it.
+ * - {@code command} histograms: one sample per call, keyed by method name (findElement, click, ...)
+ * - {@code page} histograms: one sample per page-object method invocation, measured from its first
+ *   driver call to its last one; the invocation ends when another page method issues a call or at
+ *   {@link #endPageCall()} (called after every step)
+ */
+public class CommandTimingListener implements WebDriverListener {
+    private static final String PAGES_PACKAGE = "com.automation.tests.pages.";
+    private static final String PAGES_BASE_PACKAGE = "com.automation.tests.pages.base.";
+    private static final Set<String> IGNORED = Set.of("toString", "hashCode", "equals", "getWrappedDriver", "getWrappedElement");
+    private static final StackWalker WALKER = StackWalker.getInstance();
+    private static final ThreadLocal<Deque<Long>> starts = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<PageCall> pageCall = new ThreadLocal<>();
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (isLocal(method)) {
+            return;
+        }
+        long now = System.nanoTime();
+        starts.get().push(now);
+        String page = callingPageMethod();
+        PageCall current = pageCall.get();
+        if (current != null && !current.name.equals(page)) {
+            endPageCall();
+            current = null;
+        }
+        if (current == null && page != null) {
+            pageCall.set(new PageCall(page, now));
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method);
+    }
+
+    /** Closes the page-object invocation in progress on this thread, if any. */
+    public static void endPageCall() {
+        PageCall current = pageCall.get();
+        if (current != null) {
+            pageCall.remove();
+            Metrics.record(Metrics.PAGE, current.name, current.lastEnd - current.start);
+        }
+    }
+
+    /**
+     * Calls the client answers without a round trip: object methods, unwrapping, and the getters of the
+     * {@code manage()}, {@code navigate()}, {@code switchTo()}, {@code window()}, {@code timeouts()}, {@code logs()} views.
+     */
+    static boolean isLocal(Method method) {
+        Class<?> returned = method.getReturnType();
+        return IGNORED.contains(method.getName()) || returned.getEnclosingClass() == WebDriver.class || returned == Logs.class;
+    }
+
+    private void finish(Method method) {
+        if (isLocal(method)) {
+            return;
+        }
+        Long start = starts.get().poll();
+        if (start == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        Metrics.record(Metrics.COMMAND, method.getName(), now - start);
+        PageCall current = pageCall.get();
+        if (current != null) {
+            current.lastEnd = now;
+        }
+    }
+
+    /** Outermost page-object frame on the stack (BasePage helpers count towards their caller). */
+    private static String callingPageMethod() {
+        Optional<StackWalker.StackFrame> outermost = WALKER.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(PAGES_PACKAGE) && !f.getClassName().startsWith(PAGES_BASE_PACKAGE))
+                .reduce((inner, outer) -> outer));
+        return outermost.map(f -> {
+            String cls = f.getClassName().substring(f.getClassName().lastIndexOf('.') + 1);
+            return cls + "." + ("<init>".equals(f.getMethodName()) ? "new" : f.getMethodName());
+        }).orElse(null);
+    }
+
+    private static final class PageCall {
+        private final String name;
+        private final long start;
+        private long lastEnd;
+
+        private PageCall(String name, long start) {
+            this.name = name;
+            this.start = start;
+            this.lastEnd = start;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.automation.tests.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-scaled buckets (each bucket ~5% wider than the previous one),
+ * so percentiles are accurate to about 5% from 1 microsecond up to an hour at a fixed 3.6 KB per histogram.
+ */
+public final class LatencyHistogram {
+    private static final double GROWTH = 1.05;
+    private static final double LOG_GROWTH = Math.log(GROWTH);
+    private static final int BUCKETS = 460;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(bucketOf(value));
+        count.increment();
+        totalNanos.add(value);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /** Upper bound of the bucket holding the {@code percentile} (0..100) sample, in milliseconds. */
+    public double percentileMillis(double percentile) {
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundMicros(i) / 1000.0, getMaxMillis());
+            }
+        }
+        return getMaxMillis();
+    }
+
+    public double getMaxMillis() {
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    public double getTotalMillis() {
+        return totalNanos.sum() / 1_000_000.0;
+    }
+
+    /** count, total, mean, p50, p90, p99 and max (milliseconds, rounded to 0.01). */
+    public Map<String, Object> toMap() {
+        long n = getCount();
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("count", n);
+        map.put("totalMs", round(getTotalMillis()));
+        map.put("meanMs", n == 0 ? 0 : round(getTotalMillis() / n));
+        map.put("p50Ms", round(percentileMillis(50)));
+        map.put("p90Ms", round(percentileMillis(90)));
+        map.put("p99Ms", round(percentileMillis(99)));
+        map.put("maxMs", round(getMaxMillis()));
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d p50=%.1fms p90=%.1fms p99=%.1fms max=%.1fms",
+                getCount(), percentileMillis(50), percentileMillis(90), percentileMillis(99), getMaxMillis());
+    }
+
+    private static int bucketOf(long nanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        if (micros < 1) {
+            return 0;
+        }
+        return Math.min(BUCKETS - 1, (int) (Math.log(micros) / LOG_GROWTH) + 1);
+    }
+
+    private static double upperBoundMicros(int bucket) {
+        return Math.pow(GROWTH, bucket);
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 100) / 100.0;
+    }
+}
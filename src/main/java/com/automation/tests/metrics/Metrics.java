@@ -0,0 +1,56 @@
+package com.automation.tests.metrics;
+
+import com.automation.tests.config.ConfigManager;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Run-wide latency registry: one {@link LatencyHistogram} per category and name, e.g.
+ * {@code step / "I enter email {string}"}, {@code page / "LoginPage.enterEmail"},
+ * {@code command / "findElement"}, {@code wait / "LoginPage.visible"}.
+ * Switched off with {@code ui.metrics.enabled=false}.
+ */
+public final class Metrics {
+    public static final String STEP = "step";
+    public static final String HOOK = "hook";
+    public static final String PAGE = "page";
+    public static final String COMMAND = "command";
+    public static final String WAIT = "wait";
+
+    private static final boolean ENABLED = ConfigManager.getInstance().getBooleanProperty("ui.metrics.enabled", true);
+    private static final Map<String, Map<String, LatencyHistogram>> histograms = new ConcurrentHashMap<>();
+
+    private Metrics() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static void record(String category, String name, long nanos) {
+        if (!ENABLED) {
+            return;
+        }
+        histograms.computeIfAbsent(category, c -> new ConcurrentHashMap<>())
+                .computeIfAbsent(name, n -> new LatencyHistogram())
+                .record(nanos);
+    }
+
+    public static LatencyHistogram histogram(String category, String name) {
+        return histograms.getOrDefault(category, Map.of()).get(name);
+    }
+
+    /** category -> name -> {count, totalMs, meanMs, p50Ms, p90Ms, p99Ms, maxMs}, sorted by name. */
+    public static Map<String, Object> report() {
+        Map<String, Object> report = new TreeMap<>();
+        histograms.forEach((category, byName) -> {
+            Map<String, Object> entries = new TreeMap<>();
+            byName.forEach((name, histogram) -> entries.put(name, histogram.toMap()));
+            report.put(category, entries);
+        });
+        return report;
+    }
+}
@@ -0,0 +1,90 @@
+package com.automation.tests.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Run-wide page load telemetry: every navigation timing the page objects collect, aggregated per URL pattern.
+ * - URLs are reduced to host + path with ids replaced ({@code /orders/42} -> {@code /orders/{id}})
+ * - The same document is only counted once, however often its timing is read
+ * - {@link #report()} gives count and p50/p90/p99/max per metric and pattern
+ */
+public final class PageTelemetry {
+    private static final Pattern ID_SEGMENT = Pattern.compile(
+            "/(\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|[0-9a-fA-F]{16,})(?=/|$)");
+    private static final Map<String, Map<String, List<Double>>> samples = new ConcurrentHashMap<>();
+    private static final Set<String> seenDocuments = ConcurrentHashMap.newKeySet();
+
+    private PageTelemetry() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Adds one navigation. {@code timeOrigin} (performance.timeOrigin) identifies the document,
+     * {@code values} are metric name -> value (ms, KB or counts).
+     */
+    public static void record(String url, double timeOrigin, Map<String, Double> values) {
+        if (!Metrics.isEnabled() || !url.startsWith("http") || !seenDocuments.add(url + "@" + timeOrigin)) {
+            return;
+        }
+        Map<String, List<Double>> byMetric = samples.computeIfAbsent(pattern(url), p -> new ConcurrentHashMap<>());
+        values.forEach((metric, value) -> {
+            if (value != null) {
+                byMetric.computeIfAbsent(metric, m -> Collections.synchronizedList(new ArrayList<>())).add(value);
+            }
+        });
+    }
+
+    /** {@code https://host/orders/42?x=1#top} -> {@code host/orders/{id}} */
+    public static String pattern(String url) {
+        String s = url.replaceFirst("^[a-zA-Z]+://", "").replaceFirst("[?#].*$", "");
+        s = ID_SEGMENT.matcher(s).replaceAll("/{id}");
+        return s.endsWith("/") && s.indexOf('/') < s.length() - 1 ? s.substring(0, s.length() - 1) : s;
+    }
+
+    /** pattern -> {navigations, metric -> {p50, p90, p99, max}} */
+    public static Map<String, Object> report() {
+        Map<String, Object> report = new TreeMap<>();
+        samples.forEach((pattern, byMetric) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("navigations", byMetric.values().stream().mapToInt(List::size).max().orElse(0));
+            new TreeMap<>(byMetric).forEach((metric, values) -> entry.put(metric, percentiles(values)));
+            report.put(pattern, entry);
+        });
+        return report;
+    }
+
+    private static Map<String, Object> percentiles(List<Double> values) {
+        List<Double> sorted;
+        synchronized (values) {
+            sorted = new ArrayList<>(values);
+        }
+        Collections.sort(sorted);
+        Map<String, Object> p = new LinkedHashMap<>();
+        p.put("p50", percentile(sorted, 50));
+        p.put("p90", percentile(sorted, 90));
+        p.put("p99", percentile(sorted, 99));
+        p.put("max", sorted.isEmpty() ? 0 : round(sorted.get(sorted.size() - 1)));
+        return p;
+    }
+
+    // Nearest-rank percentile: exact, sample counts per pattern are small
+    private static double percentile(List<Double> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return round(sorted.get(Math.max(0, rank - 1)));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
@@ -3,7 +3,6 @@ package com.automation.tests.pages;
 import com.automation.tests.pages.base.BasePage;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 
 public class ForgotPasswordPage extends BasePage {
     
@@ -23,7 +22,11 @@ public class ForgotPasswordPage extends BasePage {
     private WebElement backToLoginLink;
     
     public ForgotPasswordPage() {
-        PageFactory.initElements(driver, this);
+        initElements();
+    }
+    
+    @Override
+    protected void awaitReady() {
         visible(emailField);
         log.info("Forgot Password page loaded");
     }
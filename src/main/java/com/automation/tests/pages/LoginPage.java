@@ -1,10 +1,12 @@
 package com.automation.tests.pages;
 
 import com.automation.tests.pages.base.BasePage;
+import com.automation.tests.pages.base.ElementState;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
+
+import java.util.List;
 
 public class LoginPage extends BasePage {
     
@@ -26,33 +28,17 @@ public class LoginPage extends BasePage {
     
     // Constructor
     public LoginPage() {
-        PageFactory.initElements(driver, this);
+        initElements();
     }
     
     // Action methods
     public LoginPage navigateToLoginPage() {
-        String url = "https://the-internet.herokuapp.com" + LOGIN_PAGE_URL;
-        log.info("Navigating to URL: {}", url);
-        driver.get(url);
-        
-        // Debug info
-        log.info("Current URL: {}", driver.getCurrentUrl());
-        log.info("Page Title: {}", driver.getTitle());
-        log.info("Page Source contains 'username': {}", driver.getPageSource().contains("username"));
-        
-        try {
-            // Try to find element directly without waiting
-            WebElement usernameDirectly = driver.findElement(By.id("username"));
-            log.info("Username field found directly: {}", usernameDirectly != null);
-        } catch (Exception e) {
-            log.error("Could not find username field directly: {}", e.getMessage());
-        }
-        
+        log.info("Navigating to login page");
+        open(LOGIN_PAGE_URL);
         return this;
     }
     
     public LoginPage enterEmail(String email) {
-        log.info("Current URL before entering email: {}", driver.getCurrentUrl());
         log.info("Attempting to type '{}' in username field", email);
         type(usernameField, email);
         log.info("Entered username: {}", email);
@@ -66,9 +52,9 @@ public class LoginPage extends BasePage {
     }
     
     public DashboardPage clickLoginButton() {
-        click(loginButton);
+        DashboardPage dashboard = transitionTo(() -> click(loginButton), DashboardPage::new);
         log.info("Clicked login button");
-        return new DashboardPage();
+        return dashboard;
     }
     
     public DashboardPage loginAs(String email, String password) {
@@ -86,16 +72,12 @@ public class LoginPage extends BasePage {
     
     public boolean isErrorMessageDisplayed() {
         try {
-            boolean isDisplayed = displayed(errorMessage);
+            // Visibility and text of the error flash in one round trip
+            List<ElementState> errors = states(By.cssSelector(".flash.error"));
+            boolean isDisplayed = !errors.isEmpty() && errors.get(0).isVisible();
             log.info("Error message displayed: {}", isDisplayed);
             if (isDisplayed) {
-                log.info("Error message text: {}", text(errorMessage));
-            } else {
-                log.info("Checking for all flash messages on page...");
-                java.util.List<WebElement> flashes = driver.findElements(By.cssSelector(".flash"));
-                for (WebElement flash : flashes) {
-                    log.info("Flash message found: {}", flash.getText());
-                }
+                log.info("Error message text: {}", errors.get(0).getText());
             }
             return isDisplayed;
         } catch (Exception e) {
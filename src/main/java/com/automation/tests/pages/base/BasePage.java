@@ -1,42 +1,72 @@
 package com.automation.tests.pages.base;
 
-import com.automation.tests.driver.DriverManager;
+import com.automation.tests.config.ConfigManager;
+import com.automation.tests.config.ConfigSnapshot;
 import org.openqa.selenium.*;
 import org.openqa.selenium.interactions.Actions;
-import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.Select;
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  *  Shared helper for every page-object.
  *  - Centralises waits, JS helpers, scrolling, dropdown utils
+ *  - One timeout model: explicit waits only (no implicit wait), adaptive polling via {@link WaitEngine}
  *  - Makes timeouts & baseUrl configurable via system-property or config file
  *  - Adds soft-retry click (JS fallback) and highlight() for easy debugging
  */
 public abstract class BasePage {
 
     /* ------------ configuration ------------ */
-    private static final int DEFAULT_TIMEOUT  = Integer.parseInt(
-            System.getProperty("ui.timeout", "10"));        // -Dui.timeout=15
-    private static final String BASE_URL      = System.getProperty("ui.baseUrl",
-            "https://example.com"); /* override on CLI or CI */
+    private static final ConfigSnapshot CONFIG = ConfigManager.getInstance().snapshot();
+    private static final int DEFAULT_TIMEOUT  = CONFIG.getTimeoutSeconds();   // -Dui.timeout=15
+    private static final Duration DEFAULT_WAIT = Duration.ofSeconds(DEFAULT_TIMEOUT);
+    private static final Duration SHORT_WAIT   = Duration.ofSeconds(3);
+    private static final Duration LONG_WAIT    = Duration.ofSeconds(DEFAULT_TIMEOUT * 3L);
+    private static final String BASE_URL      = CONFIG.getBaseUrl();     /* config file, override on CLI or CI */
+    private static final String DOCUMENT_ID = "return performance.timeOrigin";
+    private static final boolean COLLECT_TIMING = CONFIG.isTimingCollect();  /* PageTiming after every open() */
 
     /* ------------ driver / tooling ------------ */
-    protected final Logger           log     = LoggerFactory.getLogger(getClass());
-    protected final WebDriver        driver  = DriverManager.getDriver();
-    protected final WebDriverWait    wait    = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT));
-    protected final WebDriverWait    shortWait = new WebDriverWait(driver, Duration.ofSeconds(3));
-    protected final WebDriverWait    longWait  = new WebDriverWait(driver, Duration.ofSeconds(DEFAULT_TIMEOUT * 3L));
-    protected final Actions          actions = new Actions(driver);
-    protected final JavascriptExecutor js     = (JavascriptExecutor) driver;
+    /* Shared by every page of the current thread's browser lease; only the metadata lookup is per class */
+    private   final PageMetadata     metadata = PageMetadata.of(getClass());
+    private   final PageContext      context  = PageContext.current();
+    private   final String           owner    = metadata.name();
+    protected final Logger           log     = metadata.logger();
+    protected final WebDriver        driver  = context.driver();
+    protected final WaitEngine       waits   = context.waits();
+    protected final Actions          actions = context.actions();
+    protected final JavascriptExecutor js     = context.js();
+    protected final ElementQuery     query   = context.query();
+    protected final PageStateCache   pageState = context.pageState();
+    private boolean ready;
+
+    /* Binds @FindBy fields: one lookup per element and page state, stale elements re-resolved transparently */
+    protected void initElements() {
+        metadata.bind(this, context.locators());
+    }
+
+    /* Readiness check of the page (an element it must show, ...). Constructors stay free of round trips:
+       this runs once, on the first wait, state or batch-read helper the page uses, and again after open() */
+    protected void awaitReady() {
+    }
+
+    private void ensureReady() {
+        if (!ready) { ready = true; awaitReady(); }
+    }
+
+    private <T> T until(String name, Function<? super WebDriver, T> condition, Duration timeout) {
+        ensureReady();
+        return waits.until(owner, name, condition, timeout);
+    }
 
     /* ======================================================================== */
     /*                               NAVIGATION                                 */
@@ -44,23 +74,57 @@ public abstract class BasePage {
     public void open(String relativePath) {
         String url = relativePath.startsWith("http") ? relativePath : BASE_URL + relativePath;
         log.info("â†’ Open URL: {}", url);
+        pageState.invalidate();
+        ready = false;
         driver.get(url);
         waitForPageLoad();
+        if (COLLECT_TIMING) pageTiming();
     }
 
-    public void refresh()          { log.debug("â†» Refresh"); driver.navigate().refresh(); }
-    public String currentUrl()     { return driver.getCurrentUrl(); }
-    public String title()          { return driver.getTitle();      }
+    /* Page-object transition (submit, logout, ...): waits until the action has left the current document,
+       so the next page's timing is the new navigation and not the old one. An action that stays on the
+       document (client-side validation, JS-only error) is not timed and not failed here */
+    protected <P extends BasePage> P transitionTo(Runnable action, Supplier<P> next) {
+        if (!COLLECT_TIMING) { action.run(); return next.get(); }
+        Object before = js.executeScript(DOCUMENT_ID);
+        action.run();
+        try {
+            waits.until(owner, "transition", d -> { try { return !before.equals(js.executeScript(DOCUMENT_ID)); }
+                                             catch (WebDriverException e) { return false; } }, DEFAULT_WAIT);
+        } catch (TimeoutException e) {
+            log.debug("No navigation within {}s, skipping page timing", DEFAULT_TIMEOUT);
+            return next.get();
+        }
+        P page = next.get();
+        page.pageTiming();
+        return page;
+    }
+
+    public void refresh()          { log.debug("â†» Refresh"); pageState.invalidate(); driver.navigate().refresh(); }
+    public String currentUrl()     { return pageState.url();   }
+    public String title()          { return pageState.title(); }
+    protected String pageSource()  { return pageState.pageSource(); }
+
+    /* Navigation / Resource / Paint timing of the current document, remembered under this page's name */
+    public PageTiming pageTiming() {
+        PageTiming timing = PageTiming.collect(js);
+        PageTimings.current().record(getClass().getSimpleName(), timing);
+        log.debug("{}", timing);
+        return timing;
+    }
 
     /* ======================================================================== */
     /*                               WAIT HELPERS                               */
     /* ======================================================================== */
-    protected <T> T wait(Function<WebDriver, T> condition)            { return wait.until(condition); }
-    protected WebElement visible(By by)                               { return wait(ExpectedConditions.visibilityOfElementLocated(by)); }
-    protected WebElement visible(WebElement e)                        { return wait(ExpectedConditions.visibilityOf(e)); }
-    protected WebElement clickable(By by)                             { return wait(ExpectedConditions.elementToBeClickable(by)); }
-    protected WebElement clickable(WebElement e)                      { return wait(ExpectedConditions.elementToBeClickable(e)); }
-    protected void        waitForPageLoad()                           { wait(d -> js.executeScript("return document.readyState").equals("complete")); }
+    protected <T> T wait(Function<WebDriver, T> condition)            { return until("wait", condition, DEFAULT_WAIT); }
+    protected <T> T waitShort(Function<WebDriver, T> condition)       { return until("waitShort", condition, SHORT_WAIT); }
+    protected <T> T waitLong(Function<WebDriver, T> condition)        { return until("waitLong", condition, LONG_WAIT); }
+    protected WebElement visible(By by)                               { return until("visible", ExpectedConditions.visibilityOfElementLocated(by), DEFAULT_WAIT); }
+    protected WebElement visible(WebElement e)                        { return until("visible", ExpectedConditions.visibilityOf(e), DEFAULT_WAIT); }
+    protected WebElement clickable(By by)                             { return until("clickable", ExpectedConditions.elementToBeClickable(by), DEFAULT_WAIT); }
+    protected WebElement clickable(WebElement e)                      { return until("clickable", ExpectedConditions.elementToBeClickable(e), DEFAULT_WAIT); }
+    protected void        waitForPageLoad()                           { waits.until(owner, "pageLoad", d -> "complete".equals(js.executeScript("return document.readyState")), LONG_WAIT); }
+    protected void        waitUntilGone(By by)                        { until("gone", ExpectedConditions.invisibilityOfElementLocated(by), DEFAULT_WAIT); }
 
     /* ======================================================================== */
     /*                          BASIC ELEMENT ACTIONS                           */
@@ -72,11 +136,13 @@ public abstract class BasePage {
             log.debug("JS fallback click â–º {}", ex.getMessage());
             highlight(e);  js.executeScript("arguments[0].click();", e);
         }
+        finally { pageState.invalidate(); }
     }
     protected void type(By by, String txt)    { type(visible(by), txt); }
     protected void type(WebElement e, String txt) {
         WebElement v = visible(e);  v.clear();
         if (txt != null) v.sendKeys(txt);
+        if (txt != null && (txt.contains("\n") || txt.contains(Keys.ENTER))) pageState.invalidate();   // typed a submit
     }
 
     protected String text(By by)              { return visible(by).getText();    }
@@ -86,10 +152,13 @@ public abstract class BasePage {
     /* ======================================================================== */
     /*                          STATE / ASSERT HELPERS                          */
     /* ======================================================================== */
-    protected boolean displayed(By by)        { return safe(() -> driver.findElement(by).isDisplayed()); }
+    /* Fast path: with no implicit wait these answer immediately, a missing element is just "false" */
+    protected boolean displayed(By by)        { return safe(() -> { List<WebElement> l = driver.findElements(by); return !l.isEmpty() && l.get(0).isDisplayed(); }); }
     protected boolean displayed(WebElement e) { return safe(e::isDisplayed); }
+    protected boolean absent(By by)           { return !displayed(by); }
     protected boolean enabled (WebElement e)  { return safe(e::isEnabled);  }
     private boolean safe(java.util.concurrent.Callable<Boolean> c) {
+        ensureReady();
         try { return c.call(); }
         catch (Exception ex) { return false; }
     }
@@ -116,7 +185,22 @@ public abstract class BasePage {
     /* ======================================================================== */
     /*                     LIST-ORIENTED CONVENIENCE METHODS                    */
     /* ======================================================================== */
+    /* One executeScript per poll for the whole list instead of visible()+getText() per element */
     protected List<String> texts(List<WebElement> elements) {
-        return elements.stream().map(this::text).collect(Collectors.toList());
+        return wait(d -> {
+            List<ElementState> states = query.of(elements);
+            return states.stream().allMatch(ElementState::isVisible)
+                    ? states.stream().map(ElementState::getText).collect(Collectors.toList())
+                    : null;
+        });
+    }
+    protected List<String> texts(By by) {
+        ensureReady();
+        return query.of(by).stream().filter(ElementState::isVisible).map(ElementState::getText).collect(Collectors.toList());
     }
+
+    /* Batch reads: text, visibility, attributes and bounding box of many elements in a single round trip */
+    protected List<ElementState>          states(List<WebElement> elements, String... attrs) { ensureReady(); return query.of(elements, attrs); }
+    protected List<ElementState>          states(By by, String... attrs)                     { ensureReady(); return query.of(by, attrs); }
+    protected Map<By, List<ElementState>> states(Collection<By> locators, String... attrs)   { ensureReady(); return query.ofAll(locators, attrs); }
 }
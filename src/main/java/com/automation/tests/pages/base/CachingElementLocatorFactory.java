@@ -0,0 +1,87 @@
+package com.automation.tests.pages.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ *  Locators for {@code @FindBy} fields that remember the element they found while the page stays the same.
+ *  - A cached element is reused until {@link PageStateCache} is invalidated (navigation, refresh, click, submit)
+ *  - {@code @CacheLookup} fields keep their element across page states
+ *  - Elements that went stale anyway (re-render) are re-resolved by {@link StaleRetryingFieldDecorator}
+ *  - Lists are always looked up again: they can grow or shrink without the page state changing
+ */
+public class CachingElementLocatorFactory {
+
+    private static final LongAdder HITS   = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder STALE  = new LongAdder();
+
+    private final SearchContext  context;
+    private final PageStateCache pageState;
+
+    public CachingElementLocatorFactory(SearchContext context, PageStateCache pageState) {
+        this.context   = context;
+        this.pageState = pageState;
+    }
+
+    /** Locator for an already parsed {@code @FindBy} (see {@link PageMetadata}). */
+    public ElementLocator createLocator(By by, boolean cacheLookup) {
+        return new CachingElementLocator(by, cacheLookup);
+    }
+
+    public static long hits()   { return HITS.sum(); }
+    public static long misses() { return MISSES.sum(); }
+    public static long stale()  { return STALE.sum(); }
+
+    public static String summary() {
+        long h = hits(), m = misses();
+        return String.format("Element cache: %d hits, %d lookups, %d stale re-resolves (%.0f%% hit rate)",
+                h, m, stale(), h + m == 0 ? 0.0 : 100.0 * h / (h + m));
+    }
+
+    final class CachingElementLocator implements ElementLocator {
+        private final By      by;
+        private final boolean permanent;
+        private WebElement    cached;
+        private long          cachedGeneration;
+
+        private CachingElementLocator(By by, boolean permanent) {
+            this.by        = by;
+            this.permanent = permanent;
+        }
+
+        @Override
+        public WebElement findElement() {
+            long generation = pageState.generation();
+            if (cached != null && (permanent || generation == cachedGeneration)) {
+                HITS.increment();
+                return cached;
+            }
+            MISSES.increment();
+            cached = context.findElement(by);
+            cachedGeneration = generation;
+            return cached;
+        }
+
+        @Override
+        public List<WebElement> findElements() {
+            return context.findElements(by);
+        }
+
+        /** The cached element went stale: the next {@link #findElement()} looks it up again. */
+        void invalidate() {
+            STALE.increment();
+            cached = null;
+        }
+
+        @Override
+        public String toString() {
+            return "CachingElementLocator '" + by + "'";
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.automation.tests.pages.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ *  Reads the state of many elements in a single executeScript round trip.
+ *  - Elements are passed straight to the script, locators are resolved in the browser
+ *  - Locators the browser can't evaluate (custom / chained By) cost one extra findElements
+ */
+public final class ElementQuery {
+
+    /* Shared state reader: visibility follows the same basic rules as WebElement#isDisplayed */
+    private static final String READ_STATE =
+            "function readState(el, attrs) {" +
+            "  var r = el.getBoundingClientRect(), cs = window.getComputedStyle(el);" +
+            "  var visible = !!(el.offsetWidth || el.offsetHeight || el.getClientRects().length)" +
+            "      && cs.visibility !== 'hidden' && cs.display !== 'none' && cs.opacity !== '0';" +
+            "  var a = {};" +
+            "  for (var i = 0; i < attrs.length; i++) {" +
+            "    var p = el[attrs[i]];" +
+            "    a[attrs[i]] = (p !== undefined && p !== null && typeof p !== 'object' && typeof p !== 'function')" +
+            "        ? String(p) : el.getAttribute(attrs[i]);" +
+            "  }" +
+            "  return {text: visible ? (el.innerText || '').trim() : '', visible: visible, attributes: a," +
+            "          x: r.left, y: r.top, width: r.width, height: r.height};" +
+            "}";
+
+    private static final String ELEMENTS_SCRIPT = READ_STATE +
+            "var attrs = arguments[1];" +
+            "return arguments[0].map(function (el) { return readState(el, attrs); });";
+
+    private static final String LOCATORS_SCRIPT = READ_STATE +
+            "function find(using, value) {" +
+            "  switch (using) {" +
+            "    case 'css selector': return Array.prototype.slice.call(document.querySelectorAll(value));" +
+            "    case 'tag name': return Array.prototype.slice.call(document.getElementsByTagName(value));" +
+            "    case 'xpath':" +
+            "      var snap = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null), out = [];" +
+            "      for (var i = 0; i < snap.snapshotLength; i++) out.push(snap.snapshotItem(i));" +
+            "      return out;" +
+            "    case 'link text':" +
+            "    case 'partial link text':" +
+            "      return Array.prototype.filter.call(document.getElementsByTagName('a'), function (a) {" +
+            "        var t = (a.innerText || '').trim();" +
+            "        return using === 'link text' ? t === value : t.indexOf(value) >= 0;" +
+            "      });" +
+            "  }" +
+            "  throw new Error('Unsupported locator strategy: ' + using);" +
+            "}" +
+            "var attrs = arguments[1];" +
+            "return arguments[0].map(function (l) {" +
+            "  return find(l.using, l.value).map(function (el) { return readState(el, attrs); });" +
+            "});";
+
+    private final SearchContext      context;
+    private final JavascriptExecutor js;
+
+    public ElementQuery(SearchContext context, JavascriptExecutor js) {
+        this.context = context;
+        this.js      = js;
+    }
+
+    public List<ElementState> of(List<WebElement> elements, String... attributes) {
+        if (elements.isEmpty()) return Collections.emptyList();
+        return toStates(js.executeScript(ELEMENTS_SCRIPT, new ArrayList<>(elements), Arrays.asList(attributes)));
+    }
+
+    public List<ElementState> of(By by, String... attributes) {
+        return ofAll(Collections.singletonList(by), attributes).get(by);
+    }
+
+    public Map<By, List<ElementState>> ofAll(Collection<By> locators, String... attributes) {
+        List<By> remotable = new ArrayList<>();
+        List<Map<String, Object>> specs = new ArrayList<>();
+        Map<By, List<ElementState>> result = new LinkedHashMap<>();
+        for (By by : locators) {
+            if (by instanceof By.Remotable) {
+                By.Remotable.Parameters p = ((By.Remotable) by).getRemoteParameters();
+                Map<String, Object> spec = new HashMap<>();
+                spec.put("using", p.using());
+                spec.put("value", String.valueOf(p.value()));
+                specs.add(spec);
+                remotable.add(by);
+            }
+            result.put(by, null);
+        }
+        if (!specs.isEmpty()) {
+            List<?> perLocator = (List<?>) js.executeScript(LOCATORS_SCRIPT, specs, Arrays.asList(attributes));
+            for (int i = 0; i < remotable.size(); i++) {
+                result.put(remotable.get(i), toStates(perLocator.get(i)));
+            }
+        }
+        for (Map.Entry<By, List<ElementState>> e : result.entrySet()) {
+            if (e.getValue() == null) {
+                e.setValue(of(context.findElements(e.getKey()), attributes));
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<ElementState> toStates(Object raw) {
+        List<ElementState> states = new ArrayList<>();
+        for (Object o : (List<?>) raw) {
+            Map<String, Object> m = (Map<String, Object>) o;
+            Map<String, String> attrs = new HashMap<>();
+            ((Map<String, Object>) m.get("attributes")).forEach((k, v) -> attrs.put(k, v == null ? null : String.valueOf(v)));
+            Rectangle rect = new Rectangle(num(m.get("x")), num(m.get("y")), num(m.get("height")), num(m.get("width")));
+            states.add(new ElementState((String) m.get("text"), Boolean.TRUE.equals(m.get("visible")), attrs, rect));
+        }
+        return states;
+    }
+
+    private static int num(Object o) {
+        return o == null ? 0 : (int) Math.round(((Number) o).doubleValue());
+    }
+}
@@ -0,0 +1,46 @@
+package com.automation.tests.pages.base;
+
+import org.openqa.selenium.Rectangle;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ *  Snapshot of one element read by {@link ElementQuery}: text, visibility,
+ *  requested attributes and bounding box, all taken in the same script call.
+ */
+public final class ElementState {
+
+    private final String              text;
+    private final boolean             visible;
+    private final Map<String, String> attributes;
+    private final Rectangle           rect;
+
+    ElementState(String text, boolean visible, Map<String, String> attributes, Rectangle rect) {
+        this.text       = text;
+        this.visible    = visible;
+        this.attributes = Collections.unmodifiableMap(attributes);
+        this.rect       = rect;
+    }
+
+    /** Rendered text, empty for hidden elements (same rule as WebElement#getText). */
+    public String    getText()                  { return text; }
+    public boolean   isVisible()                { return visible; }
+    public String    getAttribute(String name)  { return attributes.get(name); }
+    public Map<String, String> getAttributes()  { return attributes; }
+    public Rectangle getRect()                  { return rect; }
+
+    public boolean hasClass(String cssClass) {
+        String classes = attributes.get("className");
+        if (classes == null) return false;
+        for (String c : classes.trim().split("\\s+")) {
+            if (c.equals(cssClass)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ElementState{text='%s', visible=%s, attributes=%s, rect=%s}", text, visible, attributes, rect);
+    }
+}
@@ -0,0 +1,49 @@
+package com.automation.tests.pages.base;
+
+import com.automation.tests.driver.DriverManager;
+import com.automation.tests.driver.DriverSession;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.interactions.Actions;
+
+/**
+ *  Page-object tooling of the current thread's browser lease, built once and shared by every page it visits.
+ *  - Waits, JS executor, Actions, batch element reads, page state and element locators
+ *  - Dropped with the lease, so a new scenario (or a fresh browser) never sees the previous one's state
+ *  - Actions is a builder, but perform() clears it, so consecutive pages can share one instance
+ */
+public final class PageContext {
+
+    private final WebDriver                     driver;
+    private final JavascriptExecutor            js;
+    private final WaitEngine                    waits;
+    private final Actions                       actions;
+    private final ElementQuery                  query;
+    private final PageStateCache                pageState;
+    private final CachingElementLocatorFactory  locators;
+
+    private PageContext(WebDriver driver, PageStateCache pageState) {
+        this.driver    = driver;
+        this.js        = (JavascriptExecutor) driver;
+        this.waits     = new WaitEngine(driver);
+        this.actions   = new Actions(driver);
+        this.query     = new ElementQuery(driver, js);
+        this.pageState = pageState;
+        this.locators  = new CachingElementLocatorFactory(driver, pageState);
+    }
+
+    public static PageContext current() {
+        DriverSession session = DriverManager.getSession();
+        // Resolved outside scoped(): nested computeIfAbsent on the same map is not allowed
+        PageStateCache pageState = PageStateCache.current();
+        return session.scoped(PageContext.class, () -> new PageContext(session.getDriver(), pageState));
+    }
+
+    public WebDriver                    driver()    { return driver; }
+    public JavascriptExecutor           js()        { return js; }
+    public WaitEngine                   waits()     { return waits; }
+    public Actions                      actions()   { return actions; }
+    public ElementQuery                 query()     { return query; }
+    public PageStateCache               pageState() { return pageState; }
+    public CachingElementLocatorFactory locators()  { return locators; }
+}
@@ -0,0 +1,103 @@
+package com.automation.tests.pages.base;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ *  What PageFactory would work out by reflection on every page instance, computed once per page class:
+ *  - Which fields are elements or element lists, their {@code By} and {@code @CacheLookup}, made accessible
+ *  - Same rules as DefaultFieldDecorator: any WebElement field (id-or-name of the field when not annotated),
+ *    List&lt;WebElement&gt; only with {@code @FindBy}, {@code @FindBys} or {@code @FindAll}
+ *  - The page's logger and simple name (wait statistics are keyed by it)
+ */
+final class PageMetadata {
+
+    private static final ClassValue<PageMetadata> CACHE = new ClassValue<PageMetadata>() {
+        @Override
+        protected PageMetadata computeValue(Class<?> type) {
+            return new PageMetadata(type);
+        }
+    };
+
+    private final String         name;
+    private final Logger         logger;
+    private final List<Binding>  bindings;
+    private final ClassLoader    loader;
+
+    private PageMetadata(Class<?> type) {
+        this.name   = type.getSimpleName();
+        this.logger = LoggerFactory.getLogger(type);
+        this.loader = type.getClassLoader();
+        List<Binding> found = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) continue;
+                boolean list = isElementList(field);
+                if (!list && !WebElement.class.equals(field.getType())) continue;
+                Annotations annotations = new Annotations(field);
+                field.setAccessible(true);
+                found.add(new Binding(field, annotations.buildBy(), annotations.isLookupCached(), list));
+            }
+        }
+        this.bindings = Collections.unmodifiableList(found);
+    }
+
+    static PageMetadata of(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    String name()   { return name; }
+    Logger logger() { return logger; }
+
+    /** Sets every element field of {@code page} to a proxy backed by {@code locators}. */
+    void bind(Object page, CachingElementLocatorFactory locators) {
+        for (Binding b : bindings) {
+            Object proxy = b.list
+                    ? StaleRetryingFieldDecorator.listProxy(loader, locators.createLocator(b.by, b.cacheLookup))
+                    : StaleRetryingFieldDecorator.elementProxy(loader, locators.createLocator(b.by, b.cacheLookup));
+            try {
+                b.field.set(page, proxy);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot bind " + name + "." + b.field.getName(), e);
+            }
+        }
+    }
+
+    private static boolean isElementList(Field field) {
+        if (!List.class.equals(field.getType())) return false;
+        Type generic = field.getGenericType();
+        if (!(generic instanceof ParameterizedType)) return false;
+        Type element = ((ParameterizedType) generic).getActualTypeArguments()[0];
+        return WebElement.class.equals(element)
+                && (field.isAnnotationPresent(FindBy.class) || field.isAnnotationPresent(FindBys.class)
+                    || field.isAnnotationPresent(FindAll.class));
+    }
+
+    private static final class Binding {
+        private final Field   field;
+        private final By      by;
+        private final boolean cacheLookup;
+        private final boolean list;
+
+        private Binding(Field field, By by, boolean cacheLookup, boolean list) {
+            this.field       = field;
+            this.by          = by;
+            this.cacheLookup = cacheLookup;
+            this.list        = list;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.automation.tests.pages.base;
+
+import com.automation.tests.driver.DriverManager;
+import com.automation.tests.driver.DriverSession;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ *  URL / title / page source of the page a browser is currently on.
+ *  - One instance per driver session and scenario, shared by every page object of that scenario
+ *  - Cleared by BasePage on navigation, refresh and clicks (any click may submit or navigate),
+ *    which also expires the elements cached by {@link CachingElementLocatorFactory}
+ *  - One script reads URL, title and a MutationObserver counter injected into the page; URL and title are
+ *    then free until the next invalidation, or until a page source read finds that the DOM moved on
+ *  - Every page source read revalidates with that script (the source itself is the expensive part): it is
+ *    only serialised again when the DOM changed (or a new document replaced the observed one) since then
+ */
+public final class PageStateCache {
+
+    /* Installs the observer on first use; returns ["<document id>:<mutations since install>", href, title] */
+    private static final String MUTATIONS_SCRIPT =
+            "var s = window.__uiPageState;" +
+            "if (!s) {" +
+            "  s = window.__uiPageState = {id: Date.now().toString(36) + Math.random().toString(36).slice(2), mutations: 0};" +
+            "  new MutationObserver(function () { s.mutations++; })" +
+            "      .observe(document, {subtree: true, childList: true, attributes: true, characterData: true});" +
+            "}" +
+            "return [s.id + ':' + s.mutations, location.href, document.title];";
+
+    private static final LongAdder HITS         = new LongAdder();
+    private static final LongAdder MISSES       = new LongAdder();
+    private static final LongAdder STATE_HITS   = new LongAdder();
+    private static final LongAdder STATE_MISSES = new LongAdder();
+
+    private final WebDriver          driver;
+    private final JavascriptExecutor js;
+    private String source;
+    private String sourceVersion;
+    private List<?> state;              /* [version, href, title] as read under stateGeneration */
+    private long stateGeneration;
+    private long generation;
+
+    PageStateCache(WebDriver driver) {
+        this.driver = driver;
+        this.js     = (JavascriptExecutor) driver;
+    }
+
+    /** Cache of the current thread's browser session. */
+    public static PageStateCache current() {
+        DriverSession session = DriverManager.getSession();
+        return session.scoped(PageStateCache.class, () -> new PageStateCache(session.getDriver()));
+    }
+
+    public String url() {
+        return cachedState().get(1).toString();
+    }
+
+    public String title() {
+        return cachedState().get(2).toString();
+    }
+
+    public String pageSource() {
+        String version = read().get(0).toString();
+        if (source != null) {
+            HITS.increment();
+            return source;
+        }
+        MISSES.increment();
+        source = driver.getPageSource();
+        sourceVersion = version;
+        return source;
+    }
+
+    /** The page may have changed (click, submit): forget everything read so far. */
+    public void invalidate() {
+        generation++;
+        source = null;
+        sourceVersion = null;
+        state = null;
+    }
+
+    private List<?> cachedState() {
+        if (state != null && stateGeneration == generation) {
+            STATE_HITS.increment();
+            return state;
+        }
+        STATE_MISSES.increment();
+        return read();
+    }
+
+    /* One round trip for [version, url, title]; drops the source when the DOM moved on since it was read */
+    private List<?> read() {
+        List<?> fresh = (List<?>) js.executeScript(MUTATIONS_SCRIPT);
+        if (source != null && !fresh.get(0).toString().equals(sourceVersion)) {
+            invalidate(); // DOM changed (or a new document without our observer) since the last read
+        }
+        state = fresh;
+        stateGeneration = generation;
+        return fresh;
+    }
+
+    /** Bumped by every {@link #invalidate()}; element locators drop what they found under an older one. */
+    public long generation() {
+        return generation;
+    }
+
+    public static long hits()   { return HITS.sum(); }
+    public static long misses() { return MISSES.sum(); }
+
+    /* Page source misses serialise the DOM; every page source read and every URL/title miss is one script call */
+    public static String summary() {
+        long h = hits(), m = misses(), sh = STATE_HITS.sum(), sm = STATE_MISSES.sum();
+        return String.format("Page state cache: URL/title %d hits, %d reads (%.0f%% hit rate); page source %d hits, %d misses (%.0f%% hit rate)",
+                sh, sm, rate(sh, sm), h, m, rate(h, m));
+    }
+
+    private static double rate(long hits, long misses) {
+        return hits + misses == 0 ? 0.0 : 100.0 * hits / (hits + misses);
+    }
+}
@@ -0,0 +1,138 @@
+package com.automation.tests.pages.base;
+
+import com.automation.tests.metrics.PageTelemetry;
+import org.openqa.selenium.JavascriptExecutor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ *  Load performance of one document, read from the browser in a single async script call:
+ *  - Navigation Timing: DNS, connect, time to first byte, DOMContentLoaded, load event
+ *  - Paint / PerformanceObserver: first and largest contentful paint (buffered entries)
+ *  - Resource Timing: request count, transferred bytes and the slowest resources
+ *  All times are milliseconds since navigation start. Every collected timing also feeds {@link PageTelemetry}.
+ */
+public final class PageTiming {
+
+    /* Waits for the load event, then reads everything at once. LCP comes from a buffered observer's takeRecords() */
+    private static final String COLLECT_SCRIPT =
+            "var done = arguments[arguments.length - 1];" +
+            "function collect() {" +
+            "  var nav = performance.getEntriesByType('navigation')[0] || {};" +
+            "  var fcp = performance.getEntriesByName('first-contentful-paint')[0];" +
+            "  var lcp = null;" +
+            "  try {" +
+            "    var po = new PerformanceObserver(function () {});" +
+            "    po.observe({type: 'largest-contentful-paint', buffered: true});" +
+            "    var entries = po.takeRecords(); po.disconnect();" +
+            "    if (entries.length) lcp = entries[entries.length - 1].startTime;" +
+            "  } catch (e) {}" +
+            "  var resources = performance.getEntriesByType('resource'), bytes = nav.transferSize || 0;" +
+            "  var slowest = resources.map(function (r) { bytes += r.transferSize || 0;" +
+            "      return {name: r.name, type: r.initiatorType, duration: r.duration}; })" +
+            "    .sort(function (a, b) { return b.duration - a.duration; }).slice(0, 5);" +
+            "  done({url: location.href, timeOrigin: performance.timeOrigin," +
+            "        dns: (nav.domainLookupEnd - nav.domainLookupStart) || 0, connect: (nav.connectEnd - nav.connectStart) || 0," +
+            "        ttfb: nav.responseStart || 0, domContentLoaded: nav.domContentLoadedEventEnd || 0," +
+            "        load: nav.loadEventEnd || nav.duration || 0, fcp: fcp ? fcp.startTime : null, lcp: lcp," +
+            "        requests: resources.length + 1, transferBytes: bytes, slowest: slowest});" +
+            "}" +
+            "if (document.readyState === 'complete') setTimeout(collect, 0);" +
+            "else window.addEventListener('load', function () { setTimeout(collect, 0); });";
+
+    private final String url;
+    private final double timeOrigin;
+    private final double dns;
+    private final double connect;
+    private final double ttfb;
+    private final double domContentLoaded;
+    private final double load;
+    private final Double firstContentfulPaint;
+    private final Double largestContentfulPaint;
+    private final int    requests;
+    private final long   transferBytes;
+    private final List<String> slowest;
+
+    private PageTiming(Map<String, Object> raw) {
+        this.url                    = String.valueOf(raw.get("url"));
+        this.timeOrigin             = num(raw.get("timeOrigin"));
+        this.dns                    = num(raw.get("dns"));
+        this.connect                = num(raw.get("connect"));
+        this.ttfb                   = num(raw.get("ttfb"));
+        this.domContentLoaded       = num(raw.get("domContentLoaded"));
+        this.load                   = num(raw.get("load"));
+        this.firstContentfulPaint   = raw.get("fcp") == null ? null : num(raw.get("fcp"));
+        this.largestContentfulPaint = raw.get("lcp") == null ? null : num(raw.get("lcp"));
+        this.requests               = (int) num(raw.get("requests"));
+        this.transferBytes          = (long) num(raw.get("transferBytes"));
+        List<String> top = new ArrayList<>();
+        for (Object o : (List<?>) raw.get("slowest")) {
+            Map<?, ?> r = (Map<?, ?>) o;
+            top.add(String.format("%6.0f ms  %-8s %s", num(r.get("duration")), r.get("type"), r.get("name")));
+        }
+        this.slowest = Collections.unmodifiableList(top);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static PageTiming collect(JavascriptExecutor js) {
+        PageTiming timing = new PageTiming((Map<String, Object>) js.executeAsyncScript(COLLECT_SCRIPT));
+        PageTelemetry.record(timing.url, timing.timeOrigin, timing.telemetry());
+        return timing;
+    }
+
+    public String getUrl()                    { return url; }
+    public double getDns()                    { return dns; }
+    public double getConnect()                { return connect; }
+    public double getTimeToFirstByte()        { return ttfb; }
+    public double getDomContentLoaded()       { return domContentLoaded; }
+    public double getLoad()                   { return load; }
+    public Double getFirstContentfulPaint()   { return firstContentfulPaint; }
+    /** null when the browser doesn't report LCP (Firefox, Safari) or nothing was painted yet. */
+    public Double getLargestContentfulPaint() { return largestContentfulPaint; }
+    /** Document plus every Resource Timing entry. */
+    public int    getRequests()               { return requests; }
+    public long   getTransferBytes()          { return transferBytes; }
+
+    /** Full timing report, used as the failure message of performance assertions. */
+    public String breakdown() {
+        StringBuilder sb = new StringBuilder(String.format(
+                "Timing of %s%n  DNS %.0f ms | connect %.0f ms | TTFB %.0f ms | DOMContentLoaded %.0f ms | load %.0f ms | FCP %s | LCP %s%n  %d requests, %d KB transferred",
+                url, dns, connect, ttfb, domContentLoaded, load, ms(firstContentfulPaint), ms(largestContentfulPaint),
+                requests, transferBytes / 1024));
+        if (!slowest.isEmpty()) {
+            sb.append(String.format("%n  slowest resources:"));
+            slowest.forEach(s -> sb.append(String.format("%n    %s", s)));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PageTiming{url=%s, load=%.0fms, lcp=%s, requests=%d}", url, load, ms(largestContentfulPaint), requests);
+    }
+
+    private Map<String, Double> telemetry() {
+        Map<String, Double> values = new LinkedHashMap<>();
+        values.put("dnsMs", dns);
+        values.put("connectMs", connect);
+        values.put("ttfbMs", ttfb);
+        values.put("domContentLoadedMs", domContentLoaded);
+        values.put("loadMs", load);
+        values.put("lcpMs", largestContentfulPaint);
+        values.put("requests", (double) requests);
+        values.put("transferKB", transferBytes / 1024.0);
+        return values;
+    }
+
+    private static String ms(Double value) {
+        return value == null ? "n/a" : String.format("%.0f ms", value);
+    }
+
+    private static double num(Object o) {
+        return o == null ? 0 : ((Number) o).doubleValue();
+    }
+}
@@ -0,0 +1,36 @@
+package com.automation.tests.pages.base;
+
+import com.automation.tests.driver.DriverManager;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ *  {@link PageTiming}s collected during the current scenario, by page name.
+ *  Names are normalised so "LoginPage", "login page" and "the login page" are the same page.
+ */
+public final class PageTimings {
+
+    private final Map<String, PageTiming> byPage = new ConcurrentHashMap<>();
+
+    /** Timings of the current thread's browser session (reset for every scenario). */
+    public static PageTimings current() {
+        return DriverManager.getSession().scoped(PageTimings.class, PageTimings::new);
+    }
+
+    public void record(String page, PageTiming timing) {
+        byPage.put(key(page), timing);
+    }
+
+    public Optional<PageTiming> get(String page) {
+        return Optional.ofNullable(byPage.get(key(page)));
+    }
+
+    static String key(String page) {
+        String k = page.trim().replaceAll("([a-z])([A-Z])", "$1 $2").toLowerCase();
+        if (k.startsWith("the ")) k = k.substring(4);
+        if (k.endsWith(" page"))  k = k.substring(0, k.length() - 5);
+        return k.replace(" ", "");
+    }
+}
@@ -0,0 +1,71 @@
+package com.automation.tests.pages.base;
+
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+import org.openqa.selenium.support.pagefactory.internal.LocatingElementListHandler;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+/**
+ *  Field proxies bound by {@link PageMetadata}; element proxies survive re-renders: a call that fails with
+ *  {@link StaleElementReferenceException} on a cached element is repeated once on a freshly located one.
+ *  A stale element never received the command, so repeating clicks and typing is safe.
+ */
+final class StaleRetryingFieldDecorator {
+
+    private StaleRetryingFieldDecorator() {
+    }
+
+    static WebElement elementProxy(ClassLoader loader, ElementLocator locator) {
+        return (WebElement) Proxy.newProxyInstance(loader,
+                new Class<?>[] {WebElement.class, WrapsElement.class, Locatable.class}, new Handler(locator));
+    }
+
+    @SuppressWarnings("unchecked")
+    static List<WebElement> listProxy(ClassLoader loader, ElementLocator locator) {
+        return (List<WebElement>) Proxy.newProxyInstance(loader, new Class<?>[] {List.class},
+                new LocatingElementListHandler(locator));
+    }
+
+    private static final class Handler implements InvocationHandler {
+        private final ElementLocator locator;
+
+        private Handler(ElementLocator locator) {
+            this.locator = locator;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("toString".equals(method.getName())) {
+                return "Proxy element for: " + locator;
+            }
+            try {
+                return call(locator.findElement(), method, args);
+            } catch (StaleElementReferenceException e) {
+                if (!(locator instanceof CachingElementLocatorFactory.CachingElementLocator)) {
+                    throw e;
+                }
+                ((CachingElementLocatorFactory.CachingElementLocator) locator).invalidate();
+                return call(locator.findElement(), method, args);
+            }
+        }
+
+        private static Object call(WebElement element, Method method, Object[] args) throws Throwable {
+            if ("getWrappedElement".equals(method.getName())) {
+                return element;
+            }
+            try {
+                return method.invoke(element, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.automation.tests.pages.base;
+
+import com.automation.tests.metrics.Metrics;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ *  Explicit-wait loop used by {@link BasePage} instead of WebDriverWait.
+ *  - Adaptive polling: first re-check after 10 ms, doubling up to 500 ms
+ *  - Ignores NotFound / StaleElement while polling, like WebDriverWait
+ *  - Records how long every named wait took, aggregated in {@link #stats()}
+ *  - Stateless apart from the driver, so one instance serves every page object of a browser lease
+ */
+public class WaitEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(WaitEngine.class);
+    private static final long FIRST_POLL_MILLIS = 10;
+    private static final long MAX_POLL_MILLIS   = 500;
+    private static final Map<String, Stats> STATS = new ConcurrentHashMap<>();
+
+    private final WebDriver driver;
+
+    public WaitEngine(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /** Waits for {@code condition}, recorded as {@code <owner>.<name>} ("LoginPage.visible", ...). */
+    public <T> T until(String owner, String name, Function<? super WebDriver, T> condition, Duration timeout) {
+        long start    = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long pause    = FIRST_POLL_MILLIS;
+        int  polls    = 0;
+        RuntimeException lastError = null;
+        while (true) {
+            polls++;
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    record(owner, name, start, polls, false);
+                    return value;
+                }
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastError = e;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                long took = record(owner, name, start, polls, true);
+                throw new TimeoutException(String.format("Expected condition failed: %s (tried for %d ms with %d polls)",
+                        condition, took, polls), lastError);
+            }
+            sleep(Math.min(pause, TimeUnit.NANOSECONDS.toMillis(remaining) + 1));
+            pause = Math.min(pause * 2, MAX_POLL_MILLIS);
+        }
+    }
+
+    /** Per wait name ("LoginPage.visible", ...): count, timeouts, polls, total and max milliseconds. */
+    public static Map<String, Stats> stats() {
+        return new TreeMap<>(STATS);
+    }
+
+    public static String summary() {
+        StringBuilder sb = new StringBuilder("Wait timings:");
+        stats().forEach((name, s) -> sb.append(String.format("%n  %-40s %s", name, s)));
+        return sb.toString();
+    }
+
+    private static long record(String owner, String name, long start, int polls, boolean timedOut) {
+        long nanos  = System.nanoTime() - start;
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        String key  = owner + "." + name;
+        STATS.computeIfAbsent(key, k -> new Stats()).add(nanos, polls, timedOut);
+        Metrics.record(Metrics.WAIT, key, nanos);
+        log.debug("wait {} {} after {} ms ({} polls)", key, timedOut ? "timed out" : "done", millis, polls);
+        return millis;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting", e);
+        }
+    }
+
+    public static final class Stats {
+        private final LongAdder  count    = new LongAdder();
+        private final LongAdder  timeouts = new LongAdder();
+        private final LongAdder  polls    = new LongAdder();
+        private final LongAdder  total    = new LongAdder();
+        private final AtomicLong max      = new AtomicLong();
+
+        void add(long nanos, int pollCount, boolean timedOut) {
+            count.increment();
+            polls.add(pollCount);
+            total.add(nanos);
+            max.accumulateAndGet(nanos, Math::max);
+            if (timedOut) timeouts.increment();
+        }
+
+        public long getCount()       { return count.sum(); }
+        public long getTimeouts()    { return timeouts.sum(); }
+        public long getPolls()       { return polls.sum(); }
+        public long getTotalMillis() { return TimeUnit.NANOSECONDS.toMillis(total.sum()); }
+        public long getMaxMillis()   { return TimeUnit.NANOSECONDS.toMillis(max.get()); }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d timeouts=%d polls=%d total=%dms max=%dms",
+                    getCount(), getTimeouts(), getPolls(), getTotalMillis(), getMaxMillis());
+        }
+    }
+}
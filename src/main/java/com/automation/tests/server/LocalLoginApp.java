@@ -0,0 +1,294 @@
+package com.automation.tests.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-JVM stand-in for the login / secure-area demo app (the-internet.herokuapp.com), started once per run.
+ * - Same routes and DOM the page objects rely on: /login, /authenticate, /secure, /logout, /forgot_password
+ * - Server-side sessions behind an HttpOnly cookie, one-shot flash messages like the real app; a session is only
+ *   stored once it holds something (login, flash), so favicon and HEAD probes do not pile up sessions; at most
+ *   MAX_SESSIONS are kept, the least recently used is dropped (its browser just lands on /login again)
+ * - Selected with {@code env=local} ({@code env.local.ui.baseUrl=embedded}), see ConfigManager
+ */
+public final class LocalLoginApp {
+    private static final Logger log = LoggerFactory.getLogger(LocalLoginApp.class);
+    private static final String SESSION_COOKIE = "rack.session";
+    private static final String USERNAME = "tomsmith";
+    private static final String PASSWORD = "SuperSecretPassword!";
+    private static final int MAX_SESSIONS = 1000;
+    private static LocalLoginApp instance;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, Session> sessions = Collections.synchronizedMap(new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Session> eldest) {
+            return size() > MAX_SESSIONS;
+        }
+    });
+
+    private LocalLoginApp(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "local-login-app");
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    /** Starts the app on first call ({@code port} 0 = any free port) and returns its base URL. */
+    public static synchronized String startOnce(int port) {
+        if (instance == null) {
+            try {
+                LocalLoginApp app = new LocalLoginApp(port);
+                app.server.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(app::stop, "local-login-app-shutdown"));
+                instance = app;
+                log.info("Local login app listening on {}", app.getBaseUrl());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start local login app on port " + port, e);
+            }
+        }
+        return instance.getBaseUrl();
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            Session session = session(exchange);
+            String path = exchange.getRequestURI().getPath();
+            boolean post = "POST".equals(exchange.getRequestMethod());
+            switch (path) {
+                case "/":
+                case "/login":
+                    html(exchange, session, loginPage(session));
+                    break;
+                case "/authenticate":
+                    authenticate(exchange, session, post ? form(exchange) : Map.of());
+                    break;
+                case "/secure":
+                    if (session.user == null) {
+                        keep(session).flash("error", "You must login to view the secure area!");
+                        redirect(exchange, session, "/login");
+                    } else {
+                        html(exchange, session, securePage(session));
+                    }
+                    break;
+                case "/logout":
+                    // Like the real app's cookie session: only this browser gets a new cookie, the old session stays
+                    // valid for every other browser that restored it from the same snapshot
+                    Session fresh = keep(newSession());
+                    fresh.flash("success", "You logged out of the secure area!");
+                    redirect(exchange, fresh, "/login");
+                    break;
+                case "/forgot_password":
+                    html(exchange, session, forgotPasswordPage(post ? form(exchange).get("email") : null));
+                    break;
+                case "/favicon.ico":
+                    // Landing URL for session restore: any same-origin document will do
+                    respond(exchange, session, 200, "image/x-icon", new byte[0]);
+                    break;
+                default:
+                    respond(exchange, session, 404, "text/html; charset=utf-8",
+                            page("Not Found", "<h1>Not Found</h1>").getBytes(StandardCharsets.UTF_8));
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void authenticate(HttpExchange exchange, Session session, Map<String, String> form) throws IOException {
+        keep(session); // every outcome leaves a flash message
+        if (!USERNAME.equals(form.get("username"))) {
+            session.flash("error", "Your username is invalid!");
+            redirect(exchange, session, "/login");
+        } else if (!PASSWORD.equals(form.get("password"))) {
+            session.flash("error", "Your password is invalid!");
+            redirect(exchange, session, "/login");
+        } else {
+            session.user = USERNAME;
+            session.flash("success", "You logged into a secure area!");
+            redirect(exchange, session, "/secure");
+        }
+    }
+
+    /* ------------ pages ------------ */
+
+    private static String loginPage(Session session) {
+        return page("The Internet", flash(session)
+                + "<div class=\"example\">"
+                + "<h2>Login Page</h2>"
+                + "<h4 class=\"subheader\">This is where you can log into the secure area. Enter <em>tomsmith</em> for the username"
+                + " and <em>SuperSecretPassword!</em> for the password.</h4>"
+                + "<form name=\"login\" id=\"login\" action=\"/authenticate\" method=\"post\">"
+                + "<label for=\"username\">Username</label><input type=\"text\" name=\"username\" id=\"username\">"
+                + "<label for=\"password\">Password</label><input type=\"password\" name=\"password\" id=\"password\">"
+                + "<button class=\"radius\" type=\"submit\"><i class=\"fa fa-2x fa-sign-in\"> Login</i></button>"
+                + "</form>"
+                + "<a href=\"/forgot_password\">Forgot Password</a>"
+                + "</div>");
+    }
+
+    private static String securePage(Session session) {
+        return page("The Internet", flash(session)
+                + "<div class=\"example\">"
+                + "<h2><i class=\"icon-lock\"></i> Secure Area</h2>"
+                + "<h4 class=\"subheader\">Welcome to the Secure Area. When you are done click logout below.</h4>"
+                + "<a class=\"button secondary radius\" href=\"/logout\"><i class=\"icon-2x icon-signout\"> Logout</i></a>"
+                + "</div>");
+    }
+
+    private static String forgotPasswordPage(String submittedEmail) {
+        String alert = "";
+        if (submittedEmail != null) {
+            alert = submittedEmail.matches("[^@\\s]+@[^@\\s]+\\.[^@\\s]+")
+                    ? "<div class=\"alert alert-success\">Your e-mail's been sent!</div>"
+                    : "<div class=\"alert alert-danger\">Please enter a valid e-mail address.</div>";
+        }
+        return page("The Internet", alert
+                + "<div class=\"example\">"
+                + "<h2>Forgot Password</h2>"
+                + "<form id=\"forgot_password\" action=\"/forgot_password\" method=\"post\">"
+                + "<label for=\"email\">E-mail</label><input type=\"text\" name=\"email\" id=\"email\">"
+                + "<button id=\"form_submit\" class=\"radius\" type=\"submit\"><i class=\"icon-2x icon-signin\">Retrieve password</i></button>"
+                + "</form>"
+                + "<a href=\"/login\">Back to Login</a>"
+                + "</div>");
+    }
+
+    private static String flash(Session session) {
+        String[] flash = session.takeFlash();
+        String message = flash == null ? ""
+                : "<div id=\"flash\" class=\"flash " + flash[0] + "\">" + flash[1] + "<a href=\"#\" class=\"close\">&times;</a></div>";
+        return "<div id=\"flash-messages\" class=\"large-12 columns\">" + message + "</div>";
+    }
+
+    private static String page(String title, String body) {
+        return "<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>" + title + "</title></head>"
+                + "<body><div class=\"row\"><div id=\"content\" class=\"large-12 columns\">" + body + "</div></div></body></html>";
+    }
+
+    /* ------------ http plumbing ------------ */
+
+    private Session session(HttpExchange exchange) {
+        List<String> cookies = exchange.getRequestHeaders().get("Cookie");
+        if (cookies != null) {
+            for (String header : cookies) {
+                for (String cookie : header.split(";")) {
+                    String[] kv = cookie.trim().split("=", 2);
+                    if (kv.length == 2 && SESSION_COOKIE.equals(kv[0])) {
+                        Session known = sessions.get(kv[1]);
+                        if (known != null) {
+                            return known;
+                        }
+                    }
+                }
+            }
+        }
+        return newSession();
+    }
+
+    private static Session newSession() {
+        return new Session(UUID.randomUUID().toString());
+    }
+
+    private Session keep(Session session) {
+        if (!session.stored) {
+            session.stored = true;
+            sessions.put(session.id, session);
+        }
+        return session;
+    }
+
+    private static Map<String, String> form(HttpExchange exchange) throws IOException {
+        Map<String, String> form = new HashMap<>();
+        try (InputStream in = exchange.getRequestBody()) {
+            String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            for (String pair : body.split("&")) {
+                String[] kv = pair.split("=", 2);
+                if (!kv[0].isEmpty()) {
+                    form.put(URLDecoder.decode(kv[0], StandardCharsets.UTF_8),
+                            kv.length > 1 ? URLDecoder.decode(kv[1], StandardCharsets.UTF_8) : "");
+                }
+            }
+        }
+        return form;
+    }
+
+    private static void html(HttpExchange exchange, Session session, String html) throws IOException {
+        respond(exchange, session, 200, "text/html; charset=utf-8", html.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void redirect(HttpExchange exchange, Session session, String location) throws IOException {
+        exchange.getResponseHeaders().set("Location", location);
+        respond(exchange, session, 302, null, new byte[0]);
+    }
+
+    private static void respond(HttpExchange exchange, Session session, int status, String contentType, byte[] body)
+            throws IOException {
+        if (session.stored) {
+            exchange.getResponseHeaders().set("Set-Cookie", SESSION_COOKIE + "=" + session.id + "; Path=/; HttpOnly");
+        }
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        if (contentType != null) {
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+        }
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static final class Session {
+        private final String id;
+        private volatile boolean stored;
+        private volatile String user;
+        private volatile String[] flash;
+
+        private Session(String id) {
+            this.id = id;
+        }
+
+        void flash(String type, String message) {
+            flash = new String[] {type, message};
+        }
+
+        String[] takeFlash() {
+            String[] current = flash;
+            flash = null;
+            return current;
+        }
+    }
+}
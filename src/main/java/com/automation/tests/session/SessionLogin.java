@@ -0,0 +1,79 @@
+package com.automation.tests.session;
+
+import com.automation.tests.config.ConfigManager;
+import com.automation.tests.driver.DriverManager;
+import com.automation.tests.pages.DashboardPage;
+import com.automation.tests.pages.LoginPage;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Signs the current browser in without going through the login form when possible.
+ * - First scenario per user logs in through {@link LoginPage} and captures a {@link SessionSnapshot}
+ * - Later scenarios get the snapshot injected; if the app rejects it, it is dropped and the UI login runs again
+ * - {@code ui.session.snapshots.enabled=false} always logs in through the UI
+ */
+public final class SessionLogin {
+    private static final Logger log = LoggerFactory.getLogger(SessionLogin.class);
+    private static final ConfigManager config = ConfigManager.getInstance();
+
+    private SessionLogin() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static DashboardPage loginAs(String user, String password) {
+        if (!config.getBooleanProperty("ui.session.snapshots.enabled", true)) {
+            return uiLogin(user, password);
+        }
+        String origin = config.getProperty("ui.baseUrl");
+        Optional<DashboardPage> restored = restore(user, origin);
+        if (restored.isPresent()) {
+            return restored.get();
+        }
+        ReentrantLock lock = SessionStore.lockFor(user, origin);
+        lock.lock();
+        try {
+            // Another scenario may have logged this user in while we waited
+            restored = restore(user, origin);
+            if (restored.isPresent()) {
+                return restored.get();
+            }
+            DashboardPage dashboard = uiLogin(user, password);
+            if (dashboard.isSignedIn()) {
+                SessionSnapshot snapshot = SessionSnapshot.capture(DriverManager.getDriver(), origin);
+                SessionStore.put(user, snapshot);
+                log.info("Captured {} for '{}'", snapshot, user);
+            }
+            return dashboard;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static Optional<DashboardPage> restore(String user, String origin) {
+        Optional<SessionSnapshot> snapshot = SessionStore.get(user, origin);
+        if (!snapshot.isPresent()) {
+            return Optional.empty();
+        }
+        WebDriver driver = DriverManager.getDriver();
+        snapshot.get().restore(driver, config.getProperty("ui.session.landingPath", "/favicon.ico"));
+        DashboardPage dashboard = new DashboardPage().navigateToDashboard();
+        if (dashboard.isSignedIn()) {
+            SessionStore.markRestored();
+            log.info("Restored session of '{}' from snapshot ({}s old)", user, snapshot.get().getAge().getSeconds());
+            return Optional.of(dashboard);
+        }
+        log.warn("Session snapshot of '{}' was rejected, logging in through the UI", user);
+        SessionStore.reject(user, origin);
+        driver.manage().deleteAllCookies();
+        return Optional.empty();
+    }
+
+    private static DashboardPage uiLogin(String user, String password) {
+        return new LoginPage().navigateToLoginPage().loginAs(user, password);
+    }
+}
@@ -0,0 +1,95 @@
+package com.automation.tests.session;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything that makes a browser "logged in" for one origin: cookies plus local and session storage,
+ * captured right after a UI login and replayed into other browsers instead of logging in again.
+ */
+public final class SessionSnapshot {
+
+    private static final String READ_STORAGE =
+            "function dump(s) { var o = {}; for (var i = 0; i < s.length; i++) { var k = s.key(i); o[k] = s.getItem(k); } return o; }" +
+            "return {local: dump(window.localStorage), session: dump(window.sessionStorage)};";
+
+    private static final String WRITE_STORAGE =
+            "var local = arguments[0], session = arguments[1];" +
+            "Object.keys(local).forEach(function (k) { window.localStorage.setItem(k, local[k]); });" +
+            "Object.keys(session).forEach(function (k) { window.sessionStorage.setItem(k, session[k]); });";
+
+    private final String origin;
+    private final List<Cookie> cookies;
+    private final Map<String, String> localStorage;
+    private final Map<String, String> sessionStorage;
+    private final Instant capturedAt = Instant.now();
+
+    private SessionSnapshot(String origin, List<Cookie> cookies, Map<String, String> localStorage,
+                            Map<String, String> sessionStorage) {
+        this.origin = origin;
+        this.cookies = Collections.unmodifiableList(cookies);
+        this.localStorage = Collections.unmodifiableMap(localStorage);
+        this.sessionStorage = Collections.unmodifiableMap(sessionStorage);
+    }
+
+    /** Captures the state of the page {@code driver} is currently on. */
+    @SuppressWarnings("unchecked")
+    public static SessionSnapshot capture(WebDriver driver, String origin) {
+        Map<String, Object> storage = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(READ_STORAGE);
+        return new SessionSnapshot(origin,
+                new ArrayList<>(driver.manage().getCookies()),
+                strings((Map<String, Object>) storage.get("local")),
+                strings((Map<String, Object>) storage.get("session")));
+    }
+
+    /**
+     * Injects the snapshot. Cookies and storage can only be written for the page's own origin,
+     * so the browser first loads {@code landingPath} (any cheap same-origin URL) of the snapshot's origin.
+     */
+    public void restore(WebDriver driver, String landingPath) {
+        driver.get(origin + landingPath);
+        WebDriver.Options manage = driver.manage();
+        for (Cookie cookie : cookies) {
+            manage.addCookie(cookie);
+        }
+        if (!localStorage.isEmpty() || !sessionStorage.isEmpty()) {
+            ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE, localStorage, sessionStorage);
+        }
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public Duration getAge() {
+        return Duration.between(capturedAt, Instant.now());
+    }
+
+    public boolean isExpired(Duration ttl) {
+        return getAge().compareTo(ttl) > 0 || cookies.stream()
+                .anyMatch(c -> c.getExpiry() != null && c.getExpiry().toInstant().isBefore(Instant.now()));
+    }
+
+    private static Map<String, String> strings(Map<String, Object> raw) {
+        Map<String, String> result = new HashMap<>();
+        if (raw != null) {
+            raw.forEach((k, v) -> result.put(k, v == null ? null : String.valueOf(v)));
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SessionSnapshot{origin=%s, cookies=%d, localStorage=%d, sessionStorage=%d, age=%ds}",
+                origin, cookies.size(), localStorage.size(), sessionStorage.size(), getAge().getSeconds());
+    }
+}
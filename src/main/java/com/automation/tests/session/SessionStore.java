@@ -0,0 +1,70 @@
+package com.automation.tests.session;
+
+import com.automation.tests.config.ConfigManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Run-wide registry of {@link SessionSnapshot}s, one per user and origin.
+ * Snapshots older than {@code ui.session.ttlSeconds} (or with an expired cookie) are never handed out.
+ */
+public final class SessionStore {
+    private static final Duration TTL = Duration.ofSeconds(
+            ConfigManager.getInstance().getIntProperty("ui.session.ttlSeconds", 900));
+    private static final Map<String, SessionSnapshot> snapshots = new ConcurrentHashMap<>();
+    private static final Map<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+    private static final LongAdder restored = new LongAdder();
+    private static final LongAdder uiLogins = new LongAdder();
+    private static final LongAdder rejected = new LongAdder();
+
+    private SessionStore() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static Optional<SessionSnapshot> get(String user, String origin) {
+        String key = key(user, origin);
+        SessionSnapshot snapshot = snapshots.get(key);
+        if (snapshot != null && snapshot.isExpired(TTL)) {
+            snapshots.remove(key, snapshot);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(snapshot);
+    }
+
+    public static void put(String user, SessionSnapshot snapshot) {
+        snapshots.put(key(user, snapshot.getOrigin()), snapshot);
+        uiLogins.increment();
+    }
+
+    /** Drops the snapshot after the application refused it (logged out server side, rotated secret, ...). */
+    public static void reject(String user, String origin) {
+        snapshots.remove(key(user, origin));
+        rejected.increment();
+    }
+
+    static void markRestored() {
+        restored.increment();
+    }
+
+    /**
+     * One lock per user, so parallel scenarios for the same user wait for a single UI login.
+     * A lock rather than a monitor: a virtual thread blocked in a synchronized block pins its carrier thread.
+     */
+    static ReentrantLock lockFor(String user, String origin) {
+        return locks.computeIfAbsent(key(user, origin), k -> new ReentrantLock());
+    }
+
+    public static String summary() {
+        return String.format("Session snapshots: %d restored, %d UI logins, %d rejected",
+                restored.sum(), uiLogins.sum(), rejected.sum());
+    }
+
+    private static String key(String user, String origin) {
+        return user + "@" + origin;
+    }
+}
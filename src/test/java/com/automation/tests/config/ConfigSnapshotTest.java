@@ -0,0 +1,113 @@
+package com.automation.tests.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Snapshots built from explicit layers, independent of config.properties and the JVM's own environment. */
+class ConfigSnapshotTest {
+    private final Properties file = new Properties();
+    private final Map<String, String> environment = new HashMap<>();
+    private final Properties system = new Properties();
+
+    @Test
+    void laterLayersWin() {
+        file.setProperty("ui.timeout", "11");
+        file.setProperty("ui.browser", "firefox");
+        file.setProperty("ui.baseUrl", "https://file.example");
+        file.setProperty("ui.retry.max", "3");
+        file.setProperty("env.staging.ui.timeout", "12");
+        file.setProperty("env.staging.ui.browser", "edge");
+        file.setProperty("env.staging.ui.baseUrl", "https://staging.example");
+        environment.put("UI_TIMEOUT", "13");
+        environment.put("UI_BROWSER", "safari");
+        system.setProperty("ui.timeout", "14");
+        system.setProperty("env", "staging");
+
+        ConfigSnapshot snapshot = load();
+        assertSetting(snapshot, "ui.headless", "false", ConfigLayer.DEFAULT);
+        assertSetting(snapshot, "ui.retry.max", "3", ConfigLayer.FILE);
+        assertSetting(snapshot, "ui.baseUrl", "https://staging.example", ConfigLayer.PROFILE);
+        assertSetting(snapshot, "ui.browser", "safari", ConfigLayer.ENVIRONMENT);
+        assertSetting(snapshot, "ui.timeout", "14", ConfigLayer.SYSTEM);
+        assertEquals(14, snapshot.getTimeoutSeconds());
+
+        ConfigSnapshot overridden = snapshot.with("ui.timeout", "15", ConfigLayer.OVERRIDE);
+        assertSetting(overridden, "ui.timeout", "15", ConfigLayer.OVERRIDE);
+        assertEquals(14, snapshot.getTimeoutSeconds(), "the original snapshot does not change");
+    }
+
+    @Test
+    void profileIsSelectedByAnyLayer() {
+        file.setProperty("env", "staging");
+        file.setProperty("env.staging.ui.baseUrl", "https://staging.example");
+        file.setProperty("env.local.ui.baseUrl", "https://local.example");
+        assertEquals("https://staging.example", load().getBaseUrl());
+
+        environment.put("ENV", "local");
+        ConfigSnapshot snapshot = load();
+        assertEquals("local", snapshot.getEnvironment());
+        assertEquals("https://local.example", snapshot.getBaseUrl());
+        assertNull(snapshot.getString("env.local.ui.baseUrl", null), "profile keys are not settings of their own");
+    }
+
+    @Test
+    void renamedGridKeysAreAliases() {
+        file.setProperty("grid.enabled", "true");
+        file.setProperty("grid.url", "http://old-grid:4444/wd/hub");
+        ConfigSnapshot snapshot = load();
+        assertTrue(snapshot.isGridEnabled());
+        assertSetting(snapshot, "ui.grid.url", "http://old-grid:4444/wd/hub", ConfigLayer.FILE);
+        assertNull(snapshot.getString("grid.url", null), "the old key itself is dropped");
+
+        file.setProperty("ui.grid.url", "http://new-grid:4444/wd/hub");
+        assertEquals("http://new-grid:4444/wd/hub", load().getGridUrl(), "same layer: the new key wins");
+
+        environment.put("GRID_URL", "http://env-grid:4444/wd/hub");
+        assertSetting(load(), "ui.grid.url", "http://env-grid:4444/wd/hub", ConfigLayer.ENVIRONMENT);
+    }
+
+    @Test
+    void rejectsValuesOfTheWrongType() {
+        file.setProperty("ui.timeout", "ten");
+        file.setProperty("ui.headless", "yes");
+        file.setProperty("ui.parallel.mode", "turbo");
+        IllegalStateException e = assertThrows(IllegalStateException.class, this::load);
+        assertTrue(e.getMessage().contains("ui.timeout='ten'"), e.getMessage());
+        assertTrue(e.getMessage().contains("ui.headless='yes'"), e.getMessage());
+        assertTrue(e.getMessage().contains("ui.parallel.mode='turbo'"), e.getMessage());
+
+        file.clear();
+        system.setProperty("ui.timeout", "0");
+        assertThrows(IllegalStateException.class, this::load);
+    }
+
+    @Test
+    void reportShowsLayersAndMasksSecrets() {
+        file.setProperty("ui.login.password", "SuperSecretPassword!");
+        environment.put("UI_API_TOKEN", "abc123");
+        file.setProperty("ui.api.token", "placeholder");
+        system.setProperty("java.version.extra", "not ours");
+
+        String report = load().getReport();
+        assertFalse(report.contains("SuperSecretPassword!"), report);
+        assertFalse(report.contains("abc123"), report);
+        assertTrue(report.matches("(?s).*ui\\.login\\.password\\s+\\*{6}\\s+config/config\\.properties.*"), report);
+        assertTrue(report.matches("(?s).*ui\\.api\\.token\\s+\\*{6}\\s+environment variable.*"), report);
+        assertFalse(report.contains("java.version.extra"), "unrelated JVM properties are left out");
+    }
+
+    private ConfigSnapshot load() {
+        return ConfigSnapshot.load(file, environment, system);
+    }
+
+    private static void assertSetting(ConfigSnapshot snapshot, String key, String value, ConfigLayer layer) {
+        assertEquals(value, snapshot.getString(key, null), key);
+        assertEquals(Optional.of(layer), snapshot.getLayer(key), key);
+    }
+}
@@ -0,0 +1,94 @@
+package com.automation.tests.diagnostics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Records through the real EventFiringDecorator, against a stub browser that answers with secrets. */
+class FlightRecorderTest {
+    private static final String SECRET = "s3cr3t-session-value";
+    private static final Cookie SESSION = new Cookie("rack.session", SECRET, "localhost", "/", null);
+
+    private FlightRecorder recorder;
+    private WebDriver driver;
+
+    @BeforeEach
+    void decorate() {
+        recorder = new FlightRecorder();
+        driver = new EventFiringDecorator<>(recorder).decorate(stub(WebDriver.class, JavascriptExecutor.class));
+    }
+
+    @Test
+    void cookiesAreRecordedWithoutTheirValue() {
+        driver.manage().addCookie(SESSION);
+        driver.manage().getCookies();
+        driver.manage().getCookieNamed("rack.session");
+
+        String dump = recorder.dump();
+        assertTrue(dump.contains("addCookie(cookie rack.session (domain=localhost, path=/))"), dump);
+        assertTrue(dump.contains("cookies [rack.session]"), dump);
+        assertFalse(dump.contains(SECRET), dump);
+    }
+
+    @Test
+    void scriptArgumentsAndResultsAreRecordedAsKinds() {
+        ((JavascriptExecutor) driver).executeScript("localStorage.setItem('token', arguments[0]);", SECRET, Map.of("token", SECRET));
+        ((JavascriptExecutor) driver).executeAsyncScript("arguments[arguments.length - 1](localStorage);");
+
+        String dump = recorder.dump();
+        assertTrue(dump.contains("executeScript(localStorage.setItem('token', arguments[0]);, <20 chars>, <map of 1>)"), dump);
+        assertTrue(dump.contains("-> <map of 1>"), dump);
+        assertFalse(dump.contains(SECRET), dump);
+    }
+
+    @Test
+    void typedTextIsALength() {
+        driver.switchTo().alert().sendKeys(SECRET);
+
+        String dump = recorder.dump();
+        assertTrue(dump.contains("alert.sendKeys(<20 chars>)"), dump);
+        assertFalse(dump.contains(SECRET), dump);
+    }
+
+    private static <T> T stub(Class<T> type, Class<?>... more) {
+        Class<?>[] interfaces = new Class<?>[more.length + 1];
+        interfaces[0] = type;
+        System.arraycopy(more, 0, interfaces, 1, more.length);
+        return type.cast(Proxy.newProxyInstance(FlightRecorderTest.class.getClassLoader(), interfaces, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "toString":
+                    return "stub " + type.getSimpleName();
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "manage":
+                    return stub(WebDriver.Options.class);
+                case "switchTo":
+                    return stub(WebDriver.TargetLocator.class);
+                case "alert":
+                    return stub(Alert.class);
+                case "getCookies":
+                    return Set.of(SESSION);
+                case "getCookieNamed":
+                    return SESSION;
+                case "executeScript":
+                case "executeAsyncScript":
+                    return Map.of("token", SECRET);
+                default:
+                    return method.getReturnType() == List.class ? List.of() : null;
+            }
+        }));
+    }
+}
@@ -0,0 +1,86 @@
+package com.automation.tests.history;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DurationHistoryTest {
+
+    // One background (1 s) + scenario (2 s), one scenario (4 s) and one with an undefined step
+    private static final String REPORT = "[{\"uri\": \"classpath:features/login.feature\", \"elements\": ["
+            + "{\"type\": \"background\", \"line\": 6, \"steps\": [" + step("passed", 1000) + "]},"
+            + "{\"type\": \"scenario\", \"line\": 10, \"steps\": [" + step("passed", 2000) + "]},"
+            + "{\"type\": \"scenario\", \"line\": 20, \"before\": [" + step("passed", 500) + "],"
+            + " \"steps\": [" + step("passed", 3000) + "], \"after\": [" + step("passed", 500) + "]},"
+            + "{\"type\": \"scenario\", \"line\": 30, \"steps\": [" + step("undefined", 0) + "]}"
+            + "]}]";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void keyIgnoresUriSchemeAndLocation() {
+        String key = "features/login.feature:10";
+        assertEquals(key, DurationHistory.key("classpath:features/login.feature", 10));
+        assertEquals(key, DurationHistory.key("file:src/test/resources/features/login.feature", 10));
+        assertEquals(key, DurationHistory.key(URI.create("file:///home/ci/project/src/test/resources/features/login.feature"), 10));
+        assertEquals(key, DurationHistory.key("C:\\work\\src\\test\\resources\\features\\login.feature", 10));
+    }
+
+    @Test
+    void recordsAnExponentiallyWeightedAverage() {
+        DurationHistory history = DurationHistory.load(dir.resolve("durations.properties"));
+        history.record("features/a.feature:3", 1000);
+        history.record("features/a.feature:3", 3000);
+        // ui.history.alpha=0.5
+        assertEquals(OptionalLong.of(2000), history.estimateMillis("features/a.feature:3"));
+    }
+
+    @Test
+    void unknownScenariosCostTheMedian() {
+        DurationHistory history = DurationHistory.load(dir.resolve("durations.properties"));
+        assertEquals(5000, history.costMillis("features/new.feature:1"), "ui.history.defaultCostMs without history");
+        history.record("features/a.feature:1", 1000);
+        history.record("features/a.feature:2", 7000);
+        history.record("features/a.feature:3", 3000);
+        assertEquals(3000, history.costMillis("features/new.feature:1"));
+        assertEquals(7000, history.costMillis("features/a.feature:2"));
+    }
+
+    @Test
+    void importsCompleteScenariosOfAReportOnce() throws IOException {
+        Path report = dir.resolve("cucumber.json");
+        Files.write(report, REPORT.getBytes(StandardCharsets.UTF_8));
+        DurationHistory history = DurationHistory.load(dir.resolve("durations.properties"));
+
+        assertTrue(history.importCucumberJson(report));
+        assertEquals(OptionalLong.of(3000), history.estimateMillis("features/login.feature:10"), "background counted");
+        assertEquals(OptionalLong.of(4000), history.estimateMillis("features/login.feature:20"), "hooks counted");
+        assertEquals(OptionalLong.empty(), history.estimateMillis("features/login.feature:30"), "incomplete run");
+
+        assertFalse(history.importCucumberJson(report), "same report imported twice");
+        assertEquals(OptionalLong.of(3000), history.estimateMillis("features/login.feature:10"));
+    }
+
+    @Test
+    void survivesSaveAndLoad() {
+        Path file = dir.resolve("nested").resolve("durations.properties");
+        DurationHistory history = DurationHistory.load(file);
+        history.record("features/a.feature:3", 1234);
+        history.save();
+        assertEquals(OptionalLong.of(1234), DurationHistory.load(file).estimateMillis("features/a.feature:3"));
+    }
+
+    // Durations in the json report are nanoseconds
+    private static String step(String status, long millis) {
+        return "{\"result\": {\"status\": \"" + status + "\", \"duration\": " + millis * 1_000_000L + "}}";
+    }
+}
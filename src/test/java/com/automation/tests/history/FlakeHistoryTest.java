@@ -0,0 +1,125 @@
+package com.automation.tests.history;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Uses the defaults from config.properties: window 20, at least 5 runs, quarantined from a 0.2 flake rate. */
+class FlakeHistoryTest {
+    private static final String KEY = "features/login.feature:10";
+
+    @TempDir
+    Path dir;
+
+    private FlakeHistory history;
+
+    @BeforeEach
+    void load() {
+        history = FlakeHistory.load(dir.resolve("flakes.properties"));
+    }
+
+    @Test
+    void onlyAPassOnRetryCountsAsFlake() {
+        history.recordRun(KEY, false);
+        history.recordRetry(KEY, false);
+        assertEquals(0.0, history.flakeRate(KEY), "a failure that never passes is not a flake");
+        history.recordRun(KEY, false);
+        history.recordRetry(KEY, true);
+        assertEquals(0.5, history.flakeRate(KEY));
+        history.recordRetry(KEY, true);
+        assertEquals(0.5, history.flakeRate(KEY), "a second retry of the same run changes nothing");
+        assertEquals(Map.of(KEY, 0.5), history.flaky());
+    }
+
+    @Test
+    void retryWithoutAFailedRunIsIgnored() {
+        history.recordRetry(KEY, true);
+        history.recordRun(KEY, true);
+        history.recordRetry(KEY, true);
+        assertEquals(0.0, history.flakeRate(KEY));
+        assertTrue(history.flaky().isEmpty());
+    }
+
+    @Test
+    void quarantinesOnlyAfterMinRuns() {
+        flake(KEY);
+        passes(KEY, 3);
+        assertFalse(history.isQuarantined(KEY), "4 runs are below ui.flaky.minRuns");
+        passes(KEY, 1);
+        assertTrue(history.isQuarantined(KEY), "1 flake in 5 runs");
+        assertEquals(Set.of(KEY), history.quarantined());
+    }
+
+    @Test
+    void leavesQuarantineOnceTheWindowIsClean() {
+        flake(KEY);
+        flake(KEY);
+        passes(KEY, 8);
+        assertTrue(history.isQuarantined(KEY), "2 flakes in 10 runs");
+        passes(KEY, 1);
+        assertFalse(history.isQuarantined(KEY), "2 flakes in 11 runs");
+        passes(KEY, 20);
+        assertEquals(0.0, history.flakeRate(KEY), "flakes slide out of the 20-run window");
+    }
+
+    @Test
+    void survivesSaveAndLoad() {
+        Path file = dir.resolve("nested").resolve("flakes.properties");
+        FlakeHistory saved = FlakeHistory.load(file);
+        flake(saved, KEY);
+        saved.recordRun(KEY, true);
+        saved.save();
+        assertEquals(0.5, FlakeHistory.load(file).flakeRate(KEY));
+    }
+
+    @Test
+    void mergesWhatEachShardRecorded() throws IOException {
+        String other = "features/dashboard.feature:7";
+        history.recordRun(KEY, true);
+        history.recordRun(other, true);
+        history.save();
+
+        // Every shard starts from a copy of the shared history and runs its own scenarios
+        FlakeHistory shard1 = shardCopy("shard-1");
+        flake(shard1, KEY);
+        shard1.save();
+        FlakeHistory shard2 = shardCopy("shard-2");
+        flake(shard2, other);
+        shard2.save();
+
+        FlakeHistory shared = FlakeHistory.load(history.getFile());
+        shared.mergeShards(List.of(shard1.getFile(), shard2.getFile()));
+        assertEquals(Map.of(KEY, 0.5, other, 0.5), shared.flaky());
+    }
+
+    private FlakeHistory shardCopy(String shard) throws IOException {
+        Path copy = dir.resolve(shard).resolve("flakes.properties");
+        Files.createDirectories(copy.getParent());
+        Files.copy(history.getFile(), copy);
+        return FlakeHistory.load(copy);
+    }
+
+    private void flake(String key) {
+        flake(history, key);
+    }
+
+    private static void flake(FlakeHistory history, String key) {
+        history.recordRun(key, false);
+        history.recordRetry(key, true);
+    }
+
+    private void passes(String key, int runs) {
+        for (int i = 0; i < runs; i++) {
+            history.recordRun(key, true);
+        }
+    }
+}
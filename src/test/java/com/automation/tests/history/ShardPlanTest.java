@@ -0,0 +1,98 @@
+package com.automation.tests.history;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardPlanTest {
+    private static final List<String> STRATEGIES = List.of("hash", "duration");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void everyScenarioRunsOnExactlyOneShard() {
+        List<String> keys = keys(40);
+        DurationHistory history = history();
+        for (String strategy : STRATEGIES) {
+            for (int total = 1; total <= 7; total++) {
+                assertPartition(keys, history, strategy, total);
+            }
+        }
+    }
+
+    @Test
+    void splitDoesNotDependOnDiscoveryOrder() {
+        List<String> keys = keys(20);
+        List<String> reversed = new ArrayList<>(keys);
+        Collections.reverse(reversed);
+        DurationHistory history = history();
+        for (String strategy : STRATEGIES) {
+            for (int index = 1; index <= 3; index++) {
+                ShardPlan plan = ShardPlan.of(index, 3, strategy);
+                assertEquals(plan.select(keys, history), plan.select(reversed, history), plan.toString());
+            }
+        }
+    }
+
+    @Test
+    void durationStrategyBalancesRecordedCost() {
+        List<String> keys = keys(12);
+        DurationHistory history = history();
+        long[] loads = new long[3];
+        for (int index = 1; index <= 3; index++) {
+            for (String key : ShardPlan.of(index, 3, "duration").select(keys, history)) {
+                loads[index - 1] += history.costMillis(key);
+            }
+        }
+        long max = Math.max(loads[0], Math.max(loads[1], loads[2]));
+        long min = Math.min(loads[0], Math.min(loads[1], loads[2]));
+        // Longest-first packing: shards differ by less than the longest scenario
+        assertTrue(max - min < 12_000, "unbalanced loads " + Arrays.toString(loads));
+    }
+
+    @Test
+    void rejectsShardOutsideTotal() {
+        assertThrows(IllegalArgumentException.class, () -> ShardPlan.of(0, 2, "hash"));
+        assertThrows(IllegalArgumentException.class, () -> ShardPlan.of(3, 2, "hash"));
+        assertThrows(IllegalArgumentException.class, () -> ShardPlan.of(1, 2, "random"));
+    }
+
+    private static void assertPartition(List<String> keys, DurationHistory history, String strategy, int total) {
+        Set<String> seen = new HashSet<>();
+        for (int index = 1; index <= total; index++) {
+            for (String key : ShardPlan.of(index, total, strategy).select(keys, history)) {
+                assertTrue(seen.add(key), key + " selected by two shards of " + total + " (" + strategy + ")");
+            }
+        }
+        assertEquals(new TreeSet<>(keys), new TreeSet<>(seen), "shards of " + total + " (" + strategy + ")");
+    }
+
+    private static List<String> keys(int count) {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            keys.add("features/area" + (i % 4) + ".feature:" + (10 + i * 7));
+        }
+        return keys;
+    }
+
+    // Scenario i costs (i + 1) seconds; the last two have no history and cost the median
+    private DurationHistory history() {
+        DurationHistory history = DurationHistory.load(dir.resolve("durations.properties"));
+        List<String> keys = keys(40);
+        for (int i = 0; i < keys.size() - 2; i++) {
+            history.record(keys.get(i), (i + 1) * 1000L);
+        }
+        return history;
+    }
+}
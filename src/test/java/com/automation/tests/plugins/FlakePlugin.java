@@ -0,0 +1,62 @@
+package com.automation.tests.plugins;
+
+import com.automation.tests.config.ConfigManager;
+import com.automation.tests.history.DurationHistory;
+import com.automation.tests.history.FlakeHistory;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestRunFinished;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records every scenario outcome in {@link FlakeHistory}: {@code com.automation.tests.plugins.FlakePlugin}.
+ * The first run records pass/fail, retry runs ({@code ui.retry.attempt > 0}) mark recovered failures as flakes.
+ */
+public class FlakePlugin implements ConcurrentEventListener {
+    private static final Logger log = LoggerFactory.getLogger(FlakePlugin.class);
+    private final Map<String, Boolean> outcomes = new ConcurrentHashMap<>();
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseFinished.class, this::record);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> write());
+    }
+
+    private void record(TestCaseFinished event) {
+        Status status = event.getResult().getStatus();
+        if (status == Status.SKIPPED || status == Status.UNDEFINED || status == Status.PENDING) {
+            return;
+        }
+        TestCase testCase = event.getTestCase();
+        // Cucumber's own retries would report a scenario more than once, the last result counts
+        outcomes.put(DurationHistory.key(testCase.getUri(), testCase.getLocation().getLine()), status == Status.PASSED);
+    }
+
+    private void write() {
+        ConfigManager config = ConfigManager.getInstance();
+        if (outcomes.isEmpty() || config.getBooleanProperty("cucumber.execution.dry-run", false)) {
+            return;
+        }
+        int attempt = config.getIntProperty("ui.retry.attempt", 0);
+        FlakeHistory history = FlakeHistory.load();
+        outcomes.forEach((key, passed) -> {
+            if (attempt > 0) {
+                history.recordRetry(key, passed);
+                if (passed) {
+                    log.warn("Flaky scenario {} passed on retry {} (flake rate {}%)",
+                            key, attempt, Math.round(history.flakeRate(key) * 100));
+                }
+            } else {
+                history.recordRun(key, passed);
+            }
+        });
+        history.save();
+    }
+}
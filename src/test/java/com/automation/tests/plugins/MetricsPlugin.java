@@ -0,0 +1,75 @@
+package com.automation.tests.plugins;
+
+import com.automation.tests.metrics.CommandTimingListener;
+import com.automation.tests.metrics.Metrics;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Status;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStepFinished;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latency report for the whole run: {@code com.automation.tests.plugins.MetricsPlugin:build/reports/metrics.json}.
+ * - Step and hook durations come from Cucumber's TestStepFinished events
+ * - Page-object, WebDriver command and wait latencies are collected by {@link Metrics} while the steps run
+ * - Written once as JSON (count, total, mean, p50, p90, p99, max per name) when the run finishes
+ */
+public class MetricsPlugin implements ConcurrentEventListener {
+    private static final Logger log = LoggerFactory.getLogger(MetricsPlugin.class);
+    private final File out;
+
+    public MetricsPlugin(File out) {
+        this.out = out;
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        // ConcurrentEventListener: step events arrive on the thread that ran the step
+        publisher.registerHandlerFor(TestStepFinished.class, this::onStepFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, event -> write());
+    }
+
+    private void onStepFinished(TestStepFinished event) {
+        CommandTimingListener.endPageCall();
+        Status status = event.getResult().getStatus();
+        if (status != Status.PASSED && status != Status.FAILED) {
+            return; // skipped / undefined steps never ran
+        }
+        long nanos = event.getResult().getDuration().toNanos();
+        if (event.getTestStep() instanceof PickleStepTestStep) {
+            Metrics.record(Metrics.STEP, ((PickleStepTestStep) event.getTestStep()).getPattern(), nanos);
+        } else if (event.getTestStep() instanceof HookTestStep) {
+            Metrics.record(Metrics.HOOK, event.getTestStep().getCodeLocation(), nanos);
+        }
+    }
+
+    private void write() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.putAll(Metrics.report());
+        try {
+            File dir = out.getAbsoluteFile().getParentFile();
+            if (dir != null) {
+                Files.createDirectories(dir.toPath());
+            }
+            Files.write(out.toPath(), new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+            log.info("Latency metrics written to {}", out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write metrics to " + out, e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.automation.tests.plugins;
+
+import com.automation.tests.config.ConfigManager;
+import com.automation.tests.metrics.PageTelemetry;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.TestRunFinished;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Page load telemetry of the whole run: {@code com.automation.tests.plugins.PageTelemetryPlugin:build/reports/page-telemetry.json}.
+ * - Summary: per URL pattern, p50/p90/p99/max of DNS, connect, TTFB, DOMContentLoaded, load, LCP, requests and KB
+ * - Trend: one CSV line per pattern and run appended to {@code ui.telemetry.trendFile}
+ * - {@code ui.telemetry.baseline=<previous page-telemetry.json>} adds p90 deltas and logs load-time regressions
+ *   above {@code ui.telemetry.regressionPercent}
+ */
+public class PageTelemetryPlugin implements ConcurrentEventListener {
+    private static final Logger log = LoggerFactory.getLogger(PageTelemetryPlugin.class);
+    private static final String TREND_HEADER = "runAt,pattern,navigations,p50LoadMs,p90LoadMs,p50TtfbMs,p90TtfbMs,p90Requests,p90TransferKB";
+    private final ConfigManager config = ConfigManager.getInstance();
+    private final File out;
+
+    public PageTelemetryPlugin(File out) {
+        this.out = out;
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestRunFinished.class, event -> write());
+    }
+
+    private void write() {
+        Map<String, Object> pages = PageTelemetry.report();
+        if (pages.isEmpty()) {
+            return;
+        }
+        String runAt = Instant.now().toString();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", runAt);
+        report.put("pages", pages);
+        String baseline = config.getProperty("ui.telemetry.baseline");
+        if (baseline != null) {
+            report.put("vsBaseline", compare(pages, baseline));
+        }
+        try {
+            File dir = out.getAbsoluteFile().getParentFile();
+            if (dir != null) {
+                Files.createDirectories(dir.toPath());
+            }
+            Files.write(out.toPath(), new Json().toJson(report).getBytes(StandardCharsets.UTF_8));
+            appendTrend(runAt, pages);
+            log.info("Page telemetry for {} URL patterns written to {}", pages.size(), out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write page telemetry to " + out, e);
+        }
+    }
+
+    private void appendTrend(String runAt, Map<String, Object> pages) throws IOException {
+        Path trend = Paths.get(config.getProperty("ui.telemetry.trendFile", "build/reports/page-telemetry-trend.csv"));
+        if (trend.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(trend.toAbsolutePath().getParent());
+        }
+        StringBuilder lines = new StringBuilder();
+        if (!Files.exists(trend)) {
+            lines.append(TREND_HEADER).append(System.lineSeparator());
+        }
+        pages.forEach((pattern, entry) -> lines.append(String.join(",", runAt, pattern,
+                String.valueOf(((Map<?, ?>) entry).get("navigations")),
+                stat(entry, "loadMs", "p50"), stat(entry, "loadMs", "p90"),
+                stat(entry, "ttfbMs", "p50"), stat(entry, "ttfbMs", "p90"),
+                stat(entry, "requests", "p90"), stat(entry, "transferKB", "p90")))
+                .append(System.lineSeparator()));
+        Files.write(trend, lines.toString().getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> compare(Map<String, Object> pages, String baselineFile) {
+        Map<String, Object> deltas = new LinkedHashMap<>();
+        Map<String, Object> previous;
+        try {
+            Map<String, Object> baseline = new Json().toType(
+                    new String(Files.readAllBytes(Paths.get(baselineFile)), StandardCharsets.UTF_8), Json.MAP_TYPE);
+            previous = (Map<String, Object>) baseline.getOrDefault("pages", Map.of());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable telemetry baseline {}: {}", baselineFile, e.getMessage());
+            return deltas;
+        }
+        double threshold = config.getDoubleProperty("ui.telemetry.regressionPercent", 20);
+        pages.forEach((pattern, entry) -> {
+            Object before = previous.get(pattern);
+            if (before == null) {
+                return;
+            }
+            Map<String, Object> delta = new LinkedHashMap<>();
+            for (String metric : new String[] {"loadMs", "ttfbMs", "requests", "transferKB"}) {
+                String now = stat(entry, metric, "p90");
+                String then = stat(before, metric, "p90");
+                if (now.isEmpty() || then.isEmpty()) {
+                    continue;
+                }
+                double diff = Double.parseDouble(now) - Double.parseDouble(then);
+                double percent = Double.parseDouble(then) == 0 ? 0 : diff * 100 / Double.parseDouble(then);
+                delta.put(metric + ".p90", Math.round(percent * 10) / 10.0);
+                if ("loadMs".equals(metric) && percent > threshold) {
+                    log.warn("Page load regression on {}: p90 {} ms -> {} ms (+{}%)", pattern, then, now, Math.round(percent));
+                }
+            }
+            deltas.put(pattern, delta);
+        });
+        return deltas;
+    }
+
+    private static String stat(Object entry, String metric, String percentile) {
+        Object values = ((Map<?, ?>) entry).get(metric);
+        if (!(values instanceof Map)) {
+            return "";
+        }
+        Object value = ((Map<?, ?>) values).get(percentile);
+        return value == null ? "" : String.valueOf(value);
+    }
+}
@@ -0,0 +1,71 @@
+package com.automation.tests.runner;
+
+import com.automation.tests.config.ConfigManager;
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+/**
+ * Sizes the Cucumber engine's worker pool from {@link ConfigManager#getParallelism()},
+ * so {@code ui.parallel.*} works from config.properties, env variables and -D flags alike.
+ * The pool never grows past the configured parallelism, one worker = one browser.
+ */
+public class ConfigParallelStrategy implements ParallelExecutionConfigurationStrategy {
+    private static final Logger log = LoggerFactory.getLogger(ConfigParallelStrategy.class);
+    private static final int KEEP_ALIVE_SECONDS = 30;
+
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+        int parallelism = parallelism(ConfigManager.getInstance());
+        log.info("Running scenarios with parallelism {}", parallelism);
+        return new ParallelExecutionConfiguration() {
+            @Override
+            public int getParallelism() {
+                return parallelism;
+            }
+
+            @Override
+            public int getMinimumRunnable() {
+                return parallelism;
+            }
+
+            @Override
+            public int getMaxPoolSize() {
+                return parallelism;
+            }
+
+            @Override
+            public int getCorePoolSize() {
+                return parallelism;
+            }
+
+            @Override
+            public int getKeepAliveSeconds() {
+                return KEEP_ALIVE_SECONDS;
+            }
+
+            @Override
+            public Predicate<? super ForkJoinPool> getSaturatePredicate() {
+                // Queue work instead of failing when all workers are busy
+                return pool -> true;
+            }
+        };
+    }
+
+    private static int parallelism(ConfigManager config) {
+        if (!config.snapshot().isVirtualThreads()) {
+            return config.getParallelism();
+        }
+        // The JUnit Platform engine only runs on its own ForkJoinPool; virtual threads need ./gradlew cucumber.
+        // Sizing platform workers like virtual ones (ui.grid.maxSessions) would start that many browsers here
+        int threads = Math.max(1, config.getIntProperty("ui.parallel.threads", 1));
+        log.warn("ui.parallel.mode=virtual is only supported by the cucumber task, using ui.parallel.threads={} platform threads",
+                threads);
+        return threads;
+    }
+}
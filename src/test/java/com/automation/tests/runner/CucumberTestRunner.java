@@ -2,11 +2,14 @@ package com.automation.tests.runner;
 
 import org.junit.platform.suite.api.*;
 
-@Suite
+@Suite(failIfNoTests = false) // a shard (-Dshard.index/total) may get no scenarios at all
 @IncludeEngines("cucumber")
 @SelectClasspathResource("features")
 @ConfigurationParameter(key = "cucumber.glue", value = "com.automation.tests.steps")
-@ConfigurationParameter(key = "cucumber.plugin", value = "pretty, json:build/reports/cucumber.json, html:build/reports/cucumber.html")
+@ConfigurationParameter(key = "cucumber.plugin", value = "pretty, json:build/reports/cucumber.json, message:build/reports/cucumber.ndjson, html:build/reports/cucumber.html, timeline:build/reports/timeline, com.automation.tests.plugins.MetricsPlugin:build/reports/metrics.json, com.automation.tests.plugins.PageTelemetryPlugin:build/reports/page-telemetry.json, rerun:build/reports/rerun.txt, com.automation.tests.plugins.FlakePlugin")
+@ConfigurationParameter(key = "cucumber.execution.parallel.enabled", value = "true")
+@ConfigurationParameter(key = "cucumber.execution.parallel.config.strategy", value = "custom")
+@ConfigurationParameter(key = "cucumber.execution.parallel.config.custom.class", value = "com.automation.tests.runner.ConfigParallelStrategy")
 public class CucumberTestRunner {
     // This class is empty, it's just a runner
 }
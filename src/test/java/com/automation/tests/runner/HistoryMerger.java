@@ -0,0 +1,61 @@
+package com.automation.tests.runner;
+
+import com.automation.tests.history.DurationHistory;
+import com.automation.tests.history.FlakeHistory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Folds the scenario history of sharded runs back into one shared history ({@code ./gradlew mergeHistory}).
+ * - Every shard starts from the same {@code ui.history.file} / {@code ui.flaky.file} and leaves its copy in
+ *   {@code build/shards/<name>/history/}; what a shard changed is taken over, shards run disjoint scenarios
+ * - Durations are imported from the merged cucumber.json ({@code ./gradlew test} does not record them itself)
+ * {@code shard.strategy=duration} depends on this: every shard has to plan on the same history.
+ */
+public final class HistoryMerger {
+    private static final Logger log = LoggerFactory.getLogger(HistoryMerger.class);
+
+    // Private constructor to prevent instantiation
+    private HistoryMerger() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path shards = Paths.get(args.length > 0 ? args[0] : "build/shards");
+        Path report = Paths.get(args.length > 1 ? args[1] : "build/reports/cucumber.json");
+
+        FlakeHistory flakes = FlakeHistory.load();
+        List<Path> flakeCopies = copies(shards, flakes.getFile());
+        flakes.mergeShards(flakeCopies);
+        flakes.save();
+
+        DurationHistory durations = DurationHistory.load();
+        List<Path> durationCopies = copies(shards, durations.getFile());
+        durations.mergeShards(durationCopies);
+        if (Files.isRegularFile(report)) {
+            durations.importCucumberJson(report);
+        }
+        durations.save();
+        log.info("Merged scenario history of {} shards into {} and {}",
+                Math.max(flakeCopies.size(), durationCopies.size()), flakes.getFile(), durations.getFile());
+    }
+
+    private static List<Path> copies(Path shards, Path historyFile) throws IOException {
+        if (!Files.isDirectory(shards)) {
+            return List.of();
+        }
+        try (Stream<Path> dirs = Files.list(shards)) {
+            return dirs.map(dir -> dir.resolve("history").resolve(historyFile.getFileName()))
+                    .filter(Files::isRegularFile)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
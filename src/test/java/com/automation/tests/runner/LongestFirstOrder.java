@@ -0,0 +1,61 @@
+package com.automation.tests.runner;
+
+import com.automation.tests.history.DurationHistory;
+import io.cucumber.core.gherkin.Pickle;
+import io.cucumber.core.order.PickleOrder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Longest-processing-time-first: the scenarios expected to take longest start first, so the
+ * short ones fill the gaps at the end instead of one long scenario finishing alone.
+ * Cucumber hands ordered pickles to its workers as they free up, which is exactly LPT assignment.
+ */
+public class LongestFirstOrder implements PickleOrder {
+    private static final Logger log = LoggerFactory.getLogger(LongestFirstOrder.class);
+
+    private final DurationHistory history;
+    private final int workers;
+
+    public LongestFirstOrder(DurationHistory history, int workers) {
+        this.history = history;
+        this.workers = Math.max(1, workers);
+    }
+
+    @Override
+    public List<Pickle> orderPickles(List<Pickle> pickles) {
+        long fallback = history.defaultCostMillis();
+        List<Pickle> ordered = new ArrayList<>(pickles);
+        ordered.sort(Comparator.comparingLong((Pickle p) -> cost(p, fallback)).reversed());
+
+        // Simulate the assignment to report what the order should buy us
+        PriorityQueue<Long> loads = new PriorityQueue<>();
+        for (int i = 0; i < workers; i++) loads.add(0L);
+        long total = 0;
+        int unknown = 0;
+        for (Pickle pickle : ordered) {
+            long cost = cost(pickle, fallback);
+            loads.add(loads.poll() + cost);
+            total += cost;
+            if (!history.estimateMillis(key(pickle)).isPresent()) unknown++;
+            log.debug("  {} ms  {} ({})", cost, pickle.getName(), key(pickle));
+        }
+        long makespan = loads.stream().mapToLong(Long::longValue).max().orElse(0);
+        log.info("Scheduled {} scenarios longest-first on {} workers: ~{} s of work, ~{} s estimated wall time ({} without history, {} ms each)",
+                ordered.size(), workers, total / 1000, makespan / 1000, unknown, fallback);
+        return ordered;
+    }
+
+    private long cost(Pickle pickle, long fallback) {
+        return history.estimateMillis(key(pickle)).orElse(fallback);
+    }
+
+    private static String key(Pickle pickle) {
+        return DurationHistory.key(pickle.getUri(), pickle.getLocation().getLine());
+    }
+}
@@ -0,0 +1,35 @@
+package com.automation.tests.runner;
+
+import com.automation.tests.history.Quarantine;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+
+/**
+ * Leaves quarantined flaky scenarios out of {@code ./gradlew test}, or runs only them with
+ * {@code -Dui.quarantine.mode=only}. Registered through META-INF/services like {@link ShardFilter}.
+ */
+public class QuarantineFilter implements PostDiscoveryFilter {
+    private static final Logger log = LoggerFactory.getLogger(QuarantineFilter.class);
+
+    private final Quarantine quarantine = Quarantine.fromConfig();
+
+    public QuarantineFilter() {
+        if (!quarantine.getQuarantined().isEmpty()) {
+            log.info("{}: {}", quarantine, quarantine.getQuarantined());
+        }
+    }
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        Optional<String> key = quarantine.isActive() && descriptor.isTest() ? ShardFilter.key(descriptor) : Optional.empty();
+        if (!key.isPresent() || quarantine.runs(key.get())) {
+            return FilterResult.included("not quarantined");
+        }
+        return FilterResult.excluded(quarantine.toString());
+    }
+}
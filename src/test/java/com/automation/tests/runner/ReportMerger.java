@@ -0,0 +1,295 @@
+package com.automation.tests.runner;
+
+import io.cucumber.htmlformatter.MessagesToHtmlWriter;
+import io.cucumber.messages.types.Envelope;
+import io.cucumber.messages.types.TestRunStarted;
+import io.cucumber.messages.types.Timestamp;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Combines the reports of sharded runs ({@code ./gradlew mergeReports}) into one set under build/reports.
+ * - cucumber.json: features of all shards, scenarios back in file order
+ * - cucumber.ndjson + cucumber.html: the message streams of all shards as a single test run; shards parse
+ *   the same feature files with their own ids, so later copies are mapped onto the first one
+ * Input is the {@code cucumber.json} / {@code cucumber.ndjson} of every shard directory (default build/shards/*);
+ * retry and quarantine reports in their subdirectories are not part of the merge. Failure artifacts are copied along.
+ */
+public final class ReportMerger {
+    private static final Logger log = LoggerFactory.getLogger(ReportMerger.class);
+    private static final Set<String> EXECUTION = Set.of(
+            "testCase", "testCaseStarted", "testStepStarted", "testStepFinished", "testCaseFinished", "attachment");
+
+    private final Json json = new Json();
+
+    // Private constructor to prevent instantiation
+    private ReportMerger() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path shards = Paths.get(args.length > 0 ? args[0] : "build/shards");
+        Path output = Paths.get(args.length > 1 ? args[1] : "build/reports");
+        new ReportMerger().merge(shards, output);
+    }
+
+    private void merge(Path shards, Path output) throws IOException {
+        List<Path> jsonReports = find(shards, "cucumber.json");
+        List<Path> messageReports = find(shards, "cucumber.ndjson");
+        if (jsonReports.isEmpty() && messageReports.isEmpty()) {
+            throw new IllegalStateException("No cucumber.json or cucumber.ndjson found under " + shards.toAbsolutePath());
+        }
+        Files.createDirectories(output);
+        if (!jsonReports.isEmpty()) {
+            Files.write(output.resolve("cucumber.json"), json.toJson(mergeJson(jsonReports)).getBytes(StandardCharsets.UTF_8));
+            log.info("Merged {} cucumber.json reports into {}", jsonReports.size(), output.resolve("cucumber.json"));
+        }
+        if (!messageReports.isEmpty()) {
+            List<Map<String, Object>> messages = mergeMessages(messageReports);
+            Files.write(output.resolve("cucumber.ndjson"), messages.stream().map(this::compact)
+                    .collect(Collectors.toList()), StandardCharsets.UTF_8);
+            writeHtml(messages, output.resolve("cucumber.html"));
+            log.info("Merged {} message streams into {}", messageReports.size(), output.resolve("cucumber.html"));
+        }
+        copyArtifacts(shards, output.resolve("artifacts"));
+    }
+
+    // The reports link failure artifacts relative to themselves (artifacts/<scenario>/...), keep those links working
+    private static void copyArtifacts(Path shards, Path target) throws IOException {
+        for (Path artifacts : find(shards, "artifacts")) {
+            try (Stream<Path> files = Files.walk(artifacts)) {
+                for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                    Path copy = target.resolve(artifacts.relativize(file).toString());
+                    if (!Files.exists(copy)) {
+                        Files.createDirectories(copy.getParent());
+                        Files.copy(file, copy);
+                    }
+                }
+            }
+        }
+    }
+
+    private static List<Path> find(Path dir, String name) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(dir, 2)) {
+            return files.filter(p -> p.getFileName().toString().equals(name)).sorted().collect(Collectors.toList());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> mergeJson(List<Path> reports) throws IOException {
+        Map<String, Map<String, Object>> features = new LinkedHashMap<>();
+        Map<String, List<List<Map<String, Object>>>> scenarios = new HashMap<>();
+        for (Path report : reports) {
+            List<Map<String, Object>> shard = json.toType(read(report), Json.LIST_OF_MAPS_TYPE);
+            for (Map<String, Object> feature : shard) {
+                String uri = String.valueOf(feature.get("uri"));
+                features.putIfAbsent(uri, feature);
+                // A background is repeated in front of every scenario, keep each pair together
+                List<Map<String, Object>> pending = new ArrayList<>();
+                for (Map<String, Object> element : (List<Map<String, Object>>) feature.getOrDefault("elements", List.of())) {
+                    pending.add(element);
+                    if (!"background".equals(element.get("type"))) {
+                        scenarios.computeIfAbsent(uri, u -> new ArrayList<>()).add(pending);
+                        pending = new ArrayList<>();
+                    }
+                }
+            }
+        }
+        List<Map<String, Object>> merged = new ArrayList<>();
+        features.values().stream().sorted(Comparator.comparing(f -> String.valueOf(f.get("uri")))).forEach(feature -> {
+            List<List<Map<String, Object>>> units = scenarios.getOrDefault(String.valueOf(feature.get("uri")), List.of());
+            units.sort(Comparator.comparingLong(unit -> ((Number) unit.get(unit.size() - 1).getOrDefault("line", 0)).longValue()));
+            Map<String, Object> copy = new LinkedHashMap<>(feature);
+            copy.put("elements", units.stream().flatMap(List::stream).collect(Collectors.toList()));
+            merged.add(copy);
+        });
+        return merged;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> mergeMessages(List<Path> streams) throws IOException {
+        Map<String, Object> meta = null;
+        Map<String, Object> runStarted = null;
+        Map<String, Object> runFinished = null;
+        Map<String, Map<String, Object>> documents = new HashMap<>();
+        Set<String> sources = new HashSet<>();
+        List<Map<String, Object>> definitions = new ArrayList<>();
+        List<Map<String, Object>> pickles = new ArrayList<>();
+        List<Map<String, Object>> execution = new ArrayList<>();
+        Set<Object> executed = new HashSet<>();
+
+        for (Path stream : streams) {
+            List<Map<String, Object>> envelopes = new ArrayList<>();
+            for (String line : Files.readAllLines(stream, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    envelopes.add(json.toType(line, Json.MAP_TYPE));
+                }
+            }
+            // Ids of feature files another shard already contributed -> ids of that first copy
+            Map<String, String> ids = new HashMap<>();
+            for (Map<String, Object> envelope : envelopes) {
+                Map<String, Object> document = (Map<String, Object>) envelope.get("gherkinDocument");
+                if (document != null && documents.putIfAbsent(String.valueOf(document.get("uri")), document) != null) {
+                    mapIds(documents.get(String.valueOf(document.get("uri"))), document, ids);
+                }
+            }
+            for (Map<String, Object> envelope : envelopes) {
+                String type = envelope.keySet().iterator().next();
+                Map<String, Object> body = (Map<String, Object>) envelope.get(type);
+                switch (type) {
+                    case "meta":
+                        meta = meta == null ? envelope : meta;
+                        break;
+                    case "testRunStarted":
+                        if (runStarted == null || seconds(body) < seconds((Map<String, Object>) runStarted.get(type))) {
+                            runStarted = envelope;
+                        }
+                        break;
+                    case "testRunFinished":
+                        boolean success = Boolean.TRUE.equals(body.get("success"))
+                                && (runFinished == null || Boolean.TRUE.equals(((Map<String, Object>) runFinished.get(type)).get("success")));
+                        if (runFinished == null || seconds(body) > seconds((Map<String, Object>) runFinished.get(type))) {
+                            runFinished = envelope;
+                        }
+                        ((Map<String, Object>) runFinished.get(type)).put("success", success);
+                        break;
+                    case "source":
+                        if (sources.add(String.valueOf(body.get("uri")))) {
+                            definitions.add(envelope);
+                        }
+                        break;
+                    case "gherkinDocument":
+                        if (documents.get(String.valueOf(body.get("uri"))) == body) {
+                            definitions.add(envelope);
+                        }
+                        break;
+                    case "pickle":
+                        pickles.add((Map<String, Object>) remap(envelope, ids));
+                        break;
+                    case "testCase":
+                        executed.add(body.get("pickleId"));
+                        execution.add(envelope);
+                        break;
+                    default:
+                        (EXECUTION.contains(type) ? execution : definitions).add((Map<String, Object>) remap(envelope, ids));
+                }
+            }
+        }
+
+        // Every shard emits the pickles of all scenarios in its files; keep one per scenario, the executed one
+        Map<String, Map<String, Object>> scenarios = new LinkedHashMap<>();
+        for (Map<String, Object> envelope : pickles) {
+            Map<String, Object> pickle = (Map<String, Object>) envelope.get("pickle");
+            String key = pickle.get("uri") + "" + pickle.get("astNodeIds");
+            if (executed.contains(pickle.get("id")) || !scenarios.containsKey(key)) {
+                scenarios.put(key, envelope);
+            }
+        }
+
+        List<Map<String, Object>> merged = new ArrayList<>();
+        if (meta != null) merged.add(meta);
+        merged.addAll(definitions);
+        merged.addAll(scenarios.values());
+        if (runStarted != null) merged.add(runStarted);
+        merged.addAll(execution);
+        if (runFinished != null) merged.add(runFinished);
+        return merged;
+    }
+
+    // Same source -> same tree: walk both documents side by side and pair up every "id"
+    @SuppressWarnings("unchecked")
+    private static void mapIds(Object first, Object copy, Map<String, String> ids) {
+        if (first instanceof Map && copy instanceof Map) {
+            Map<String, Object> a = (Map<String, Object>) first;
+            Map<String, Object> b = (Map<String, Object>) copy;
+            for (Map.Entry<String, Object> e : b.entrySet()) {
+                if ("id".equals(e.getKey()) && a.get("id") != null) {
+                    ids.put(String.valueOf(e.getValue()), String.valueOf(a.get("id")));
+                } else {
+                    mapIds(a.get(e.getKey()), e.getValue(), ids);
+                }
+            }
+        } else if (first instanceof List && copy instanceof List) {
+            List<Object> a = (List<Object>) first;
+            List<Object> b = (List<Object>) copy;
+            for (int i = 0; i < Math.min(a.size(), b.size()); i++) {
+                mapIds(a.get(i), b.get(i), ids);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object remap(Object value, Map<String, String> ids) {
+        if (ids.isEmpty()) {
+            return value;
+        }
+        if (value instanceof String) {
+            return ids.getOrDefault(value, (String) value);
+        }
+        if (value instanceof Map) {
+            Map<String, Object> copy = new LinkedHashMap<>();
+            ((Map<String, Object>) value).forEach((k, v) -> copy.put(k, remap(v, ids)));
+            return copy;
+        }
+        if (value instanceof List) {
+            return ((List<Object>) value).stream().map(v -> remap(v, ids)).collect(Collectors.toList());
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long seconds(Map<String, Object> message) {
+        Map<String, Object> timestamp = (Map<String, Object>) message.getOrDefault("timestamp", Map.of());
+        return ((Number) timestamp.getOrDefault("seconds", 0L)).longValue();
+    }
+
+    private void writeHtml(List<Map<String, Object>> messages, Path html) throws IOException {
+        // The envelopes are JSON already; the writer only needs something to hand back to the serializer
+        Envelope placeholder = Envelope.of(new TestRunStarted(new Timestamp(0L, 0L)));
+        Deque<String> pending = new ArrayDeque<>();
+        try (OutputStream out = Files.newOutputStream(html);
+             MessagesToHtmlWriter writer = new MessagesToHtmlWriter(out, (w, envelope) -> w.write(pending.poll()))) {
+            for (Map<String, Object> message : messages) {
+                pending.add(compact(message));
+                writer.write(placeholder);
+            }
+        }
+    }
+
+    // Json#toJson pretty-prints, ndjson needs one message per line
+    private String compact(Object value) {
+        StringWriter out = new StringWriter();
+        try (JsonOutput writer = json.newOutput(out)) {
+            writer.setPrettyPrint(false).write(value);
+        }
+        return out.toString();
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,141 @@
+package com.automation.tests.runner;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Merges two shard message streams of the same feature (a background, a scenario and an outline with two
+ * examples; shard 1 ran one scenario, shard 2 the other two), each parsed with its own ids.
+ */
+class ReportMergerTest {
+    private final Json json = new Json();
+
+    @TempDir
+    Path dir;
+
+    private List<Map<String, Object>> merged;
+
+    @BeforeEach
+    void merge() throws IOException {
+        for (String shard : List.of("shard-1", "shard-2")) {
+            Path target = dir.resolve("shards").resolve(shard).resolve("cucumber.ndjson");
+            Files.createDirectories(target.getParent());
+            try (InputStream in = getClass().getResourceAsStream("/reports/" + shard + "/cucumber.ndjson")) {
+                assertNotNull(in, shard + " fixture missing");
+                Files.copy(in, target);
+            }
+        }
+        ReportMerger.main(new String[] {dir.resolve("shards").toString(), dir.resolve("merged").toString()});
+        merged = new ArrayList<>();
+        for (String line : Files.readAllLines(dir.resolve("merged").resolve("cucumber.ndjson"), StandardCharsets.UTF_8)) {
+            merged.add(json.toType(line, Json.MAP_TYPE));
+        }
+    }
+
+    @Test
+    void keepsOneCopyOfEverySharedDefinition() throws IOException {
+        assertEquals(1, bodies("meta").size());
+        assertEquals(1, bodies("source").size());
+        assertEquals(1, bodies("gherkinDocument").size());
+        assertEquals(1, bodies("testRunStarted").size());
+        assertEquals(1, bodies("testRunFinished").size());
+        assertEquals(Boolean.TRUE, bodies("testRunFinished").get(0).get("success"));
+        assertTrue(Files.size(dir.resolve("merged").resolve("cucumber.html")) > 0);
+    }
+
+    @Test
+    void keepsOneExecutedPicklePerScenario() {
+        List<Map<String, Object>> pickles = bodies("pickle");
+        List<Map<String, Object>> testCases = bodies("testCase");
+        assertEquals(3, pickles.size());
+        assertEquals(3, testCases.size());
+        Set<Object> pickleIds = pickles.stream().map(p -> p.get("id")).collect(Collectors.toSet());
+        assertEquals(3, pickleIds.size());
+        for (Map<String, Object> testCase : testCases) {
+            assertTrue(pickleIds.contains(testCase.get("pickleId")), "test case of an unknown pickle: " + testCase);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void picklesPointIntoTheKeptDocument() {
+        Set<String> astIds = new HashSet<>();
+        collectIds(bodies("gherkinDocument").get(0), astIds);
+        for (Map<String, Object> pickle : bodies("pickle")) {
+            assertTrue(astIds.containsAll((List<String>) pickle.get("astNodeIds")), "pickle " + pickle.get("name"));
+            for (Map<String, Object> step : (List<Map<String, Object>>) pickle.get("steps")) {
+                assertTrue(astIds.containsAll((List<String>) step.get("astNodeIds")), "step " + step.get("text"));
+            }
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void executionMessagesStayLinked() {
+        Set<Object> pickleSteps = new HashSet<>();
+        for (Map<String, Object> pickle : bodies("pickle")) {
+            ((List<Map<String, Object>>) pickle.get("steps")).forEach(step -> pickleSteps.add(step.get("id")));
+        }
+        Set<Object> testSteps = new HashSet<>();
+        Set<Object> testCases = new HashSet<>();
+        for (Map<String, Object> testCase : bodies("testCase")) {
+            testCases.add(testCase.get("id"));
+            for (Map<String, Object> step : (List<Map<String, Object>>) testCase.get("testSteps")) {
+                testSteps.add(step.get("id"));
+                if (step.containsKey("pickleStepId")) {
+                    assertTrue(pickleSteps.contains(step.get("pickleStepId")), "unknown pickle step " + step);
+                }
+            }
+        }
+        Set<Object> started = new HashSet<>();
+        for (Map<String, Object> testCaseStarted : bodies("testCaseStarted")) {
+            assertTrue(testCases.contains(testCaseStarted.get("testCaseId")));
+            started.add(testCaseStarted.get("id"));
+        }
+        assertEquals(3, started.size());
+        for (Map<String, Object> stepFinished : bodies("testStepFinished")) {
+            assertTrue(started.contains(stepFinished.get("testCaseStartedId")));
+            assertTrue(testSteps.contains(stepFinished.get("testStepId")));
+        }
+        assertEquals(3, bodies("testCaseFinished").size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> bodies(String type) {
+        return merged.stream()
+                .filter(envelope -> envelope.containsKey(type))
+                .map(envelope -> (Map<String, Object>) envelope.get(type))
+                .collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void collectIds(Object node, Set<String> ids) {
+        if (node instanceof Map) {
+            ((Map<String, Object>) node).forEach((key, value) -> {
+                if ("id".equals(key)) {
+                    ids.add(String.valueOf(value));
+                } else {
+                    collectIds(value, ids);
+                }
+            });
+        } else if (node instanceof List) {
+            ((List<Object>) node).forEach(child -> collectIds(child, ids));
+        }
+    }
+}
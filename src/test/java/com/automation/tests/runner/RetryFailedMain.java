@@ -0,0 +1,96 @@
+package com.automation.tests.runner;
+
+import com.automation.tests.config.ConfigManager;
+import com.automation.tests.history.DurationHistory;
+import com.automation.tests.history.FlakeHistory;
+import com.automation.tests.plugins.FlakePlugin;
+import io.cucumber.core.options.CommandlineOptionsParser;
+import io.cucumber.core.options.RuntimeOptions;
+import io.cucumber.core.options.RuntimeOptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reruns only the scenarios that failed ({@code ./gradlew retryFailed}), instead of the whole suite.
+ * - Input: the rerun file of the previous run ({@code ui.retry.rerunFile}, default build/reports/rerun.txt)
+ * - Up to {@code ui.retry.max} attempts, each on the scenarios still failing, each scenario in a new browser
+ * - Reports per attempt in build/reports/retry/attempt-N; outcomes go to {@link FlakeHistory}
+ * Exits 0 when every failure passed on a retry, 1 when some are still failing or there was nothing to retry from.
+ */
+public final class RetryFailedMain {
+    private static final Logger log = LoggerFactory.getLogger(RetryFailedMain.class);
+
+    // Private constructor to prevent instantiation
+    private RetryFailedMain() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.exit(run(args));
+    }
+
+    /** {@code args}: Cucumber options for every attempt (glue, pretty, ...), feature paths are added here. */
+    public static byte run(String... args) throws IOException {
+        ConfigManager config = ConfigManager.getInstance();
+        Path failed = Paths.get(config.getProperty("ui.retry.rerunFile", "build/reports/rerun.txt"));
+        if (!Files.isRegularFile(failed)) {
+            log.error("No {} from the previous run: it failed before running scenarios, nothing to retry", failed);
+            return 1;
+        }
+        int maxAttempts = config.getIntProperty("ui.retry.max", 2);
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            String scenarios = read(failed);
+            if (scenarios.isEmpty()) {
+                log.info("No failed scenarios left to retry");
+                return 0;
+            }
+            log.info("Retry attempt {} of {}: {}", attempt, maxAttempts, scenarios.replaceAll("\\s+", " "));
+            Path reports = Paths.get("build/reports/retry/attempt-" + attempt);
+            List<String> argv = new ArrayList<>(Arrays.asList(args));
+            argv.addAll(List.of(
+                    "--plugin", "json:" + reports.resolve("cucumber.json"),
+                    "--plugin", "message:" + reports.resolve("cucumber.ndjson"),
+                    "--plugin", "html:" + reports.resolve("cucumber.html"),
+                    "--plugin", "rerun:" + reports.resolve("rerun.txt"),
+                    "--plugin", FlakePlugin.class.getName(),
+                    "@" + failed));
+
+            CommandlineOptionsParser parser = new CommandlineOptionsParser(System.out);
+            RuntimeOptions options = ScheduledCucumberMain.parse(parser, argv.toArray(new String[0]));
+            Optional<Byte> exitStatus = parser.exitStatus();
+            if (exitStatus.isPresent()) {
+                return exitStatus.get();
+            }
+            int threads = ScheduledCucumberMain.threads(options);
+            options = new RuntimeOptionsBuilder()
+                    .setThreads(threads)
+                    .setPickleOrder(new LongestFirstOrder(DurationHistory.load(), threads))
+                    .build(options);
+
+            // Read by Hooks (fresh browser) and FlakePlugin (recovered = flaky) through ConfigManager
+            config.override("ui.retry.attempt", String.valueOf(attempt));
+            if (ScheduledCucumberMain.execute(options) == 0) {
+                log.info("All retried scenarios passed on attempt {}", attempt);
+                return 0;
+            }
+            failed = reports.resolve("rerun.txt");
+        }
+        log.error("Still failing after {} retries: {}", maxAttempts, read(failed).replaceAll("\\s+", " "));
+        return 1;
+    }
+
+    private static String read(Path rerunFile) throws IOException {
+        return Files.isRegularFile(rerunFile)
+                ? new String(Files.readAllBytes(rerunFile), StandardCharsets.UTF_8).trim()
+                : "";
+    }
+}
@@ -0,0 +1,205 @@
+package com.automation.tests.runner;
+
+import com.automation.tests.config.ConfigManager;
+import com.automation.tests.history.DurationHistory;
+import com.automation.tests.history.Quarantine;
+import com.automation.tests.history.ShardPlan;
+import io.cucumber.core.gherkin.Pickle;
+import io.cucumber.core.options.CommandlineOptionsParser;
+import io.cucumber.core.options.CucumberProperties;
+import io.cucumber.core.options.CucumberPropertiesParser;
+import io.cucumber.core.options.RuntimeOptions;
+import io.cucumber.core.options.RuntimeOptionsBuilder;
+import io.cucumber.core.order.PickleOrder;
+import io.cucumber.core.runtime.Runtime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Cucumber CLI entry point ({@code ./gradlew cucumber}) that runs scenarios longest-first.
+ * - Imports the previous run's cucumber.json ({@code ui.history.report}) into {@link DurationHistory}
+ * - Options are read like {@code io.cucumber.core.cli.Main}: cucumber.properties, env, -D, then arguments
+ * - Dry runs are not recorded
+ * - With {@code shard.total} only this machine's share of the scenarios runs (see {@link ShardPlan})
+ * - Quarantined flaky scenarios are left out, or run alone with {@code ui.quarantine.mode=only} (see {@link Quarantine})
+ * - Without a thread count ({@code --threads} or {@code cucumber.execution.parallel.config.fixed.parallelism})
+ *   the run uses {@link ConfigManager#getParallelism()}
+ * - {@code ui.parallel.mode=virtual} runs each scenario on a virtual thread, bounded by {@code ui.grid.maxSessions}
+ * The JUnit Platform engine ({@code ./gradlew test}) does not let us reorder scenarios, only this runner does.
+ */
+public final class ScheduledCucumberMain {
+    private static final Logger log = LoggerFactory.getLogger(ScheduledCucumberMain.class);
+    private static final String FIXED_PARALLELISM = "cucumber.execution.parallel.config.fixed.parallelism";
+    private static final int THREADS_UNSET = 0;
+
+    // Private constructor to prevent instantiation
+    private ScheduledCucumberMain() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    public static byte run(String... args) {
+        ConfigManager config = ConfigManager.getInstance();
+        DurationHistory history = DurationHistory.load();
+        Path report = Paths.get(config.getProperty("ui.history.report", "build/reports/cucumber.json"));
+        if (Files.isRegularFile(report)) {
+            try {
+                if (history.importCucumberJson(report)) {
+                    history.save();
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not import scenario durations from {}: {}", report, e.getMessage());
+            }
+        }
+
+        CommandlineOptionsParser parser = new CommandlineOptionsParser(System.out);
+        RuntimeOptions options = parse(parser, args);
+        Optional<Byte> exitStatus = parser.exitStatus();
+        if (exitStatus.isPresent()) {
+            return exitStatus.get();
+        }
+
+        int threads = threads(options);
+        options = new RuntimeOptionsBuilder()
+                .setThreads(threads)
+                .setPickleOrder(select(ShardPlan.fromConfig(), Quarantine.fromConfig(), new LongestFirstOrder(history, threads)))
+                .build(options);
+
+        byte status = execute(options);
+        if (options.isDryRun() && Files.isRegularFile(report)) {
+            // Nothing was executed, the durations in this report must not end up in the history
+            try {
+                history.ignore(report);
+                history.save();
+            } catch (IOException e) {
+                log.warn("Could not mark dry-run report {} as imported: {}", report, e.getMessage());
+            }
+        }
+        return status;
+    }
+
+    /** The thread count {@link #parse} found (an explicit 1 stays 1), otherwise the configured parallelism. */
+    static int threads(RuntimeOptions options) {
+        return options.getThreads() == THREADS_UNSET ? ConfigManager.getInstance().getParallelism() : options.getThreads();
+    }
+
+    /**
+     * Options layered like {@code io.cucumber.core.cli.Main}: cucumber.properties, env, -D, then {@code args}.
+     * The thread count stays {@code THREADS_UNSET} unless one of them sets it, see {@link #threads}.
+     */
+    static RuntimeOptions parse(CommandlineOptionsParser parser, String... args) {
+        Map<String, String> propertiesFile = CucumberProperties.fromPropertiesFile();
+        Map<String, String> environment = CucumberProperties.fromEnvironment();
+        Map<String, String> systemProperties = CucumberProperties.fromSystemProperties();
+        RuntimeOptions fromProperties = new CucumberPropertiesParser()
+                .parse(propertiesFile)
+                .build(new RuntimeOptionsBuilder().setThreads(THREADS_UNSET).build());
+        RuntimeOptions fromEnvironment = new CucumberPropertiesParser()
+                .parse(environment)
+                .build(fromProperties);
+        RuntimeOptions fromSystemProperties = new CucumberPropertiesParser()
+                .parse(systemProperties)
+                .build(fromEnvironment);
+        RuntimeOptions options = parser.parse(splitThreads(args))
+                .addDefaultGlueIfAbsent()
+                .addDefaultFeaturePathIfAbsent()
+                .addDefaultSummaryPrinterIfNotDisabled()
+                .enablePublishPlugin()
+                .build(fromSystemProperties);
+        if (options.getThreads() == THREADS_UNSET) {
+            // The JUnit engine's fixed parallelism, which the Cucumber CLI parser does not read
+            Stream.of(systemProperties, environment, propertiesFile)
+                    .map(properties -> properties.get(FIXED_PARALLELISM))
+                    .filter(value -> value != null && !value.trim().isEmpty())
+                    .findFirst()
+                    .ifPresent(value -> new RuntimeOptionsBuilder().setThreads(fixedParallelism(value)).build(options));
+        }
+        return options;
+    }
+
+    // Cucumber only understands "--threads N"
+    private static String[] splitThreads(String... args) {
+        return Arrays.stream(args)
+                .flatMap(arg -> arg.startsWith("--threads=")
+                        ? Stream.of("--threads", arg.substring("--threads=".length()))
+                        : Stream.of(arg))
+                .toArray(String[]::new);
+    }
+
+    private static int fixedParallelism(String value) {
+        try {
+            int threads = Integer.parseInt(value.trim());
+            if (threads > 0) {
+                return threads;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException(FIXED_PARALLELISM + " must be > 0, got '" + value + "'");
+    }
+
+    static byte execute(RuntimeOptions options) {
+        Runtime runtime = Runtime.builder()
+                .withRuntimeOptions(options)
+                .withClassLoader(() -> Thread.currentThread().getContextClassLoader())
+                .build();
+        if (ConfigManager.getInstance().snapshot().isVirtualThreads() && options.isMultiThreaded()) {
+            useVirtualThreads(runtime, options.getThreads());
+        }
+        runtime.run();
+        return runtime.exitStatus();
+    }
+
+    // Runtime.Builder always creates a fixed pool of platform threads and offers no hook for another executor.
+    // Everything else stays multi-threaded as built: per-thread runners and a synchronized event bus.
+    private static void useVirtualThreads(Runtime runtime, int sessions) {
+        try {
+            Field field = Runtime.class.getDeclaredField("executor");
+            field.setAccessible(true);
+            ((ExecutorService) field.get(runtime)).shutdownNow();
+            field.set(runtime, new VirtualThreadExecutor(sessions));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalStateException("Cannot switch the Cucumber runtime to virtual threads,"
+                    + " use ui.parallel.mode=fixed with this Cucumber version", e);
+        }
+        if (!ConfigManager.getInstance().snapshot().isGridEnabled()) {
+            log.warn("Virtual threads with local browsers: {} browsers may start on this machine", sessions);
+        }
+        log.info("Running scenarios on virtual threads, at most {} grid sessions at a time", sessions);
+    }
+
+    // The runtime runs whatever the order returns, which makes it the one place to drop other shards' pickles
+    private static PickleOrder select(ShardPlan plan, Quarantine quarantine, PickleOrder order) {
+        if (!plan.isSharded() && !quarantine.isActive()) {
+            return order;
+        }
+        return pickles -> {
+            Set<String> mine = plan.select(pickles.stream().map(ScheduledCucumberMain::key).collect(Collectors.toList()));
+            List<Pickle> selected = pickles.stream()
+                    .filter(p -> mine.contains(key(p)) && quarantine.runs(key(p)))
+                    .collect(Collectors.toList());
+            log.info("Running {} of {} scenarios on {}, {}", selected.size(), pickles.size(), plan, quarantine);
+            return order.orderPickles(selected);
+        };
+    }
+
+    static String key(Pickle pickle) {
+        return DurationHistory.key(pickle.getUri(), pickle.getLocation().getLine());
+    }
+}
@@ -0,0 +1,55 @@
+package com.automation.tests.runner;
+
+import com.automation.tests.config.ConfigManager;
+import io.cucumber.core.options.CommandlineOptionsParser;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduledCucumberMainTest {
+    private static final String FEATURES = "classpath:features";
+
+    @Test
+    void explicitThreadsWinOverConfiguredParallelism() {
+        assertEquals(1, threads("--threads", "1", FEATURES));
+        assertEquals(3, threads("--threads", "3", FEATURES));
+        assertEquals(3, threads("--threads=3", FEATURES));
+    }
+
+    @Test
+    void threadsFromFixedParallelismProperty() {
+        assertEquals(5, withSystemProperty("cucumber.execution.parallel.config.fixed.parallelism", "5",
+                () -> threads(FEATURES)));
+        assertEquals(1, withSystemProperty("cucumber.execution.parallel.config.fixed.parallelism", "5",
+                () -> threads("--threads", "1", FEATURES)), "arguments come last");
+    }
+
+    @Test
+    void withoutThreadsTheConfiguredParallelismApplies() {
+        assertEquals(ConfigManager.getInstance().getParallelism(), threads(FEATURES));
+    }
+
+    @Test
+    void rejectsInvalidFixedParallelism() {
+        assertThrows(IllegalArgumentException.class, () -> withSystemProperty(
+                "cucumber.execution.parallel.config.fixed.parallelism", "many", () -> threads(FEATURES)));
+    }
+
+    private static int threads(String... args) {
+        CommandlineOptionsParser parser = new CommandlineOptionsParser(System.out);
+        int threads = ScheduledCucumberMain.threads(ScheduledCucumberMain.parse(parser, args));
+        assertFalse(parser.exitStatus().isPresent(), "arguments rejected");
+        return threads;
+    }
+
+    private static int withSystemProperty(String key, String value, IntSupplier body) {
+        System.setProperty(key, value);
+        try {
+            return body.getAsInt();
+        } finally {
+            System.clearProperty(key);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.automation.tests.runner;
+
+import com.automation.tests.history.DurationHistory;
+import com.automation.tests.history.ShardPlan;
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.ClasspathResourceSource;
+import org.junit.platform.engine.support.descriptor.FileSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Drops the scenarios of other shards from {@code ./gradlew test -Dshard.index=2 -Dshard.total=8}.
+ * Registered through META-INF/services, so the JUnit Platform launcher applies it to every run;
+ * without {@code shard.total} it includes everything.
+ */
+public class ShardFilter implements PostDiscoveryFilter {
+    private static final Logger log = LoggerFactory.getLogger(ShardFilter.class);
+
+    private final ShardPlan plan = ShardPlan.fromConfig();
+    private TestDescriptor root;
+    private Set<String> selected;
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        Optional<String> key = plan.isSharded() && descriptor.isTest() ? key(descriptor) : Optional.empty();
+        if (!key.isPresent()) {
+            return FilterResult.included("not sharded");
+        }
+        return selected(descriptor).contains(key.get())
+                ? FilterResult.included("runs on " + plan)
+                : FilterResult.excluded("runs on another shard");
+    }
+
+    // The split needs every scenario, the filter sees them one by one: plan once per discovered tree
+    private synchronized Set<String> selected(TestDescriptor descriptor) {
+        TestDescriptor top = descriptor;
+        while (top.getParent().isPresent()) {
+            top = top.getParent().get();
+        }
+        if (top != root) {
+            Set<String> keys = top.getDescendants().stream()
+                    .filter(TestDescriptor::isTest)
+                    .map(ShardFilter::key)
+                    .flatMap(Optional::stream)
+                    .collect(Collectors.toSet());
+            root = top;
+            selected = plan.select(keys);
+            log.info("Running {} of {} scenarios on {}", selected.size(), keys.size(), plan);
+        }
+        return selected;
+    }
+
+    static Optional<String> key(TestDescriptor descriptor) {
+        Optional<TestSource> source = descriptor.getSource();
+        if (source.isPresent() && source.get() instanceof ClasspathResourceSource) {
+            ClasspathResourceSource resource = (ClasspathResourceSource) source.get();
+            return resource.getPosition().map(p -> DurationHistory.key(resource.getClasspathResourceName(), p.getLine()));
+        }
+        if (source.isPresent() && source.get() instanceof FileSource) {
+            FileSource file = (FileSource) source.get();
+            return file.getPosition().map(p -> DurationHistory.key(file.getUri().toString(), p.getLine()));
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,68 @@
+package com.automation.tests.runner;
+
+import io.cucumber.core.feature.FeatureParser;
+import io.cucumber.core.gherkin.Feature;
+import io.cucumber.core.options.CommandlineOptionsParser;
+import io.cucumber.core.runtime.FeaturePathFeatureSupplier;
+import io.cucumber.junit.platform.engine.CucumberTestEngine;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.DiscoverySelector;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.UniqueId;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClasspathResource;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectDirectory;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+/** Both runners must derive the same scenario keys, or shards of ./gradlew test and ./gradlew cucumber differ. */
+class ShardFilterTest {
+
+    @Test
+    void junitPlatformAndCliDeriveTheSameKeys() {
+        Set<String> cli = cliKeys("src/test/resources/features");
+        assertFalse(cli.isEmpty(), "no scenarios found");
+        assertEquals(cli, cliKeys("classpath:features"));
+        assertEquals(cli, junitKeys(selectClasspathResource("features")));
+        assertEquals(cli, junitKeys(selectDirectory("src/test/resources/features")));
+    }
+
+    @Test
+    void everyScenarioOutlineExampleHasItsOwnKey() {
+        TestDescriptor engine = discover(selectClasspathResource("features"));
+        long tests = engine.getDescendants().stream().filter(TestDescriptor::isTest).count();
+        assertEquals(tests, junitKeys(selectClasspathResource("features")).size());
+    }
+
+    // Feature paths as passed by the cucumber / retryFailed / quarantine Gradle tasks
+    private static Set<String> cliKeys(String featurePath) {
+        FeaturePathFeatureSupplier features = new FeaturePathFeatureSupplier(
+                ShardFilterTest.class::getClassLoader,
+                ScheduledCucumberMain.parse(new CommandlineOptionsParser(System.out), featurePath),
+                new FeatureParser(UUID::randomUUID));
+        return features.get().stream()
+                .map(Feature::getPickles)
+                .flatMap(List::stream)
+                .map(ScheduledCucumberMain::key)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private static Set<String> junitKeys(DiscoverySelector selector) {
+        return discover(selector).getDescendants().stream()
+                .filter(TestDescriptor::isTest)
+                .map(ShardFilter::key)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private static TestDescriptor discover(DiscoverySelector selector) {
+        return new CucumberTestEngine().discover(request().selectors(selector).build(), UniqueId.forEngine("cucumber"));
+    }
+}
@@ -0,0 +1,84 @@
+package com.automation.tests.runner;
+
+import com.automation.tests.driver.DriverManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs every scenario on its own virtual thread, at most {@code sessions} at a time ({@code ui.grid.maxSessions}).
+ * - The permit is taken in {@link #execute} on the submitting thread, so scenarios start in the order the
+ *   pickle order returned (longest first) and only running scenarios hold a thread
+ * - A scenario blocked on the grid's HTTP responses parks its virtual thread instead of a platform thread
+ * - A browser still bound to the scenario's thread when it ends (failed after-hook, ...) is quit,
+ *   since nothing can release it once the thread is gone
+ */
+final class VirtualThreadExecutor extends AbstractExecutorService {
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadExecutor.class);
+
+    private final ExecutorService threads = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("cucumber-virtual-", 1).factory());
+    private final Semaphore sessions;
+
+    VirtualThreadExecutor(int sessions) {
+        this.sessions = new Semaphore(sessions, true);
+    }
+
+    @Override
+    public void execute(Runnable scenario) {
+        try {
+            sessions.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for a grid session", e);
+        }
+        try {
+            threads.execute(() -> {
+                try {
+                    scenario.run();
+                } finally {
+                    if (DriverManager.hasDriver()) {
+                        log.warn("Scenario thread {} ended holding a browser, quitting it", Thread.currentThread());
+                        DriverManager.quitDriver();
+                    }
+                    sessions.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            sessions.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        threads.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return threads.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return threads.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return threads.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return threads.awaitTermination(timeout, unit);
+    }
+}
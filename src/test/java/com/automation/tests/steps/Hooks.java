@@ -1,37 +1,169 @@
 package com.automation.tests.steps;
 
+import com.automation.tests.artifacts.ArtifactPipeline;
+import com.automation.tests.artifacts.FailureArtifacts;
+import com.automation.tests.config.ConfigManager;
+import com.automation.tests.driver.CapabilityKey;
 import com.automation.tests.driver.DriverManager;
+import com.automation.tests.driver.NetworkFilter;
+import com.automation.tests.driver.NetworkRules;
+import com.automation.tests.metrics.CommandBudget;
+import com.automation.tests.pages.base.CachingElementLocatorFactory;
+import com.automation.tests.pages.base.PageStateCache;
+import com.automation.tests.pages.base.WaitEngine;
+import com.automation.tests.session.SessionStore;
 import io.cucumber.java.After;
+import io.cucumber.java.AfterAll;
 import io.cucumber.java.Before;
 import io.cucumber.java.Scenario;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
 public class Hooks {
     private static final Logger log = LoggerFactory.getLogger(Hooks.class);
     
     @Before
     public void setup(Scenario scenario) {
         log.info("Starting scenario: {}", scenario.getName());
-        DriverManager.initDriver();
+        int attempt = ConfigManager.getInstance().getIntProperty("ui.retry.attempt", 0);
+        if (attempt > 0) {
+            // A retry must not inherit anything from the browser that saw the failure
+            log.info("Retry attempt {}, starting a fresh browser", attempt);
+            DriverManager.initFreshDriver(capabilitiesFor(scenario));
+        } else {
+            DriverManager.initDriver(capabilitiesFor(scenario));
+        }
+        DriverManager.getSession().applyNetworkRules(networkRulesFor(scenario));
+        startCommandBudget(scenario);
     }
     
     @After
     public void tearDown(Scenario scenario) {
         log.info("Finishing scenario: {} - Status: {}", scenario.getName(), scenario.getStatus());
+        reportBlockedRequests(scenario);
         
         if (scenario.isFailed()) {
             log.warn("Scenario failed: {}", scenario.getName());
-            try {
-                byte[] screenshot = ((TakesScreenshot) DriverManager.getDriver()).getScreenshotAs(OutputType.BYTES);
-                scenario.attach(screenshot, "image/png", "Screenshot of failure");
-            } catch (Exception e) {
-                log.error("Failed to capture screenshot: {}", e.getMessage());
+            attachFlightRecorder(scenario);
+            attachFailureArtifacts(scenario);
+            // Don't hand a browser in an unknown state to the next scenario
+            DriverManager.quitDriver();
+        } else {
+            DriverManager.releaseDriver();
+        }
+        checkCommandBudget(scenario);
+    }
+    
+    @AfterAll
+    public static void reportWaitTimings() {
+        log.info(WaitEngine.summary());
+        log.info(PageStateCache.summary());
+        log.info(CachingElementLocatorFactory.summary());
+        log.info(SessionStore.summary());
+        ArtifactPipeline.drain();
+        log.info(ArtifactPipeline.summary());
+    }
+    
+    // Dumped before the artifact grab, so the buffer ends with the scenario's own calls
+    private void attachFlightRecorder(Scenario scenario) {
+        try {
+            DriverManager.getSession().getFlightRecorder()
+                    .ifPresent(recorder -> scenario.attach(recorder.dump(), "text/plain", "Flight recorder"));
+        } catch (Exception e) {
+            log.error("Failed to attach flight recorder: {}", e.getMessage());
+        }
+    }
+    
+    // Only the raw grab happens here; decoding, dedup and disk writes run on the artifact pipeline's threads.
+    // Cucumber takes attachments only while the scenario runs, so the report links the files they will become.
+    private void attachFailureArtifacts(Scenario scenario) {
+        try {
+            FailureArtifacts raw = FailureArtifacts.grab(DriverManager.getDriver());
+            String feature = Paths.get(scenario.getUri().getSchemeSpecificPart()).getFileName().toString();
+            int attempt = ConfigManager.getInstance().getIntProperty("ui.retry.attempt", 0);
+            String name = feature.replace(".feature", "") + "-" + scenario.getLine() + (attempt > 0 ? "-retry" + attempt : "");
+            List<String> files = ArtifactPipeline.submit(name, raw);
+            if (!files.isEmpty()) {
+                scenario.attach(String.join("\r\n", files), "text/uri-list", "Failure artifacts");
             }
+        } catch (Exception e) {
+            log.error("Failed to capture failure artifacts: {}", e.getMessage());
+        }
+    }
+    
+    // @browser:firefox / @headless on a scenario or feature override the configured capabilities
+    private CapabilityKey capabilitiesFor(Scenario scenario) {
+        CapabilityKey key = DriverManager.getDefaultKey();
+        for (String tag : scenario.getSourceTagNames()) {
+            if (tag.startsWith("@browser:")) {
+                key = key.withBrowser(tag.substring("@browser:".length()));
+            } else if (tag.equals("@headless")) {
+                key = key.withHeadless(true);
+            }
+        }
+        return key;
+    }
+    
+    // @network:off, @network:block=*cdn.example.com*, @network:types=image,font override ui.network.block.*
+    private NetworkRules networkRulesFor(Scenario scenario) {
+        NetworkRules rules = NetworkRules.fromConfig();
+        for (String tag : scenario.getSourceTagNames()) {
+            if (tag.equals("@network:off")) {
+                return NetworkRules.none();
+            } else if (tag.startsWith("@network:block=")) {
+                rules = rules.withPattern(tag.substring("@network:block=".length()));
+            } else if (tag.startsWith("@network:types=")) {
+                rules = rules.withTypes(Arrays.asList(tag.substring("@network:types=".length()).split(",")));
+            }
+        }
+        return rules;
+    }
+    
+    // @budget:commands=40 caps WebDriver round trips for the scenario, @budget:enforce fails it when exceeded
+    private void startCommandBudget(Scenario scenario) {
+        int limit = CommandBudget.defaultLimit();
+        boolean enforce = CommandBudget.defaultEnforce();
+        for (String tag : scenario.getSourceTagNames()) {
+            if (tag.startsWith("@budget:commands=")) {
+                try {
+                    limit = Integer.parseInt(tag.substring("@budget:commands=".length()).trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid tag " + tag + " on scenario '" + scenario.getName()
+                            + "': expected @budget:commands=<number of WebDriver commands>");
+                }
+            } else if (tag.equals("@budget:enforce")) {
+                enforce = true;
+            }
+        }
+        CommandBudget.start(limit, enforce);
+    }
+    
+    private void checkCommandBudget(Scenario scenario) {
+        CommandBudget.finish().ifPresent(budget -> {
+            String message = "Command budget exceeded: " + budget.breakdown();
+            log.warn("{} in scenario: {}", message, scenario.getName());
+            scenario.log(message);
+            if (budget.isEnforced() && !scenario.isFailed()) {
+                throw new AssertionError(message);
+            }
+        });
+    }
+    
+    private void reportBlockedRequests(Scenario scenario) {
+        try {
+            DriverManager.getSession().getNetworkFilter()
+                    .filter(NetworkFilter::isActive)
+                    .ifPresent(filter -> {
+                        String summary = filter.summary();
+                        log.info(summary);
+                        scenario.log(summary);
+                    });
+        } catch (Exception e) {
+            log.debug("Could not read network filter stats: {}", e.getMessage());
         }
-        
-        DriverManager.quitDriver();
     }
 }
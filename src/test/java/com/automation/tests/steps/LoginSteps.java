@@ -3,6 +3,7 @@ package com.automation.tests.steps;
 import com.automation.tests.pages.DashboardPage;
 import com.automation.tests.pages.ForgotPasswordPage;
 import com.automation.tests.pages.LoginPage;
+import com.automation.tests.session.SessionLogin;
 import io.cucumber.java.en.And;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
@@ -15,10 +16,19 @@ import static org.junit.jupiter.api.Assertions.*;
 public class LoginSteps {
     private static final Logger log = LoggerFactory.getLogger(LoginSteps.class);
     
+    // Cucumber creates a new LoginSteps per scenario and runs the whole scenario on one
+    // worker thread, so these fields are never shared between parallel scenarios.
+    // Keep it that way: no static state here, the browser comes from DriverManager's ThreadLocal.
     private LoginPage loginPage;
     private DashboardPage dashboardPage;
     private ForgotPasswordPage forgotPasswordPage;
     
+    @Given("I am logged in as {string} with password {string}")
+    public void iAmLoggedInAsWithPassword(String user, String password) {
+        // Reuses the session captured by an earlier UI login of the same user, see SessionLogin
+        dashboardPage = SessionLogin.loginAs(user, password);
+    }
+    
     @Given("I am on the login page")
     public void iAmOnTheLoginPage() {
         loginPage = new LoginPage();
@@ -0,0 +1,80 @@
+package com.automation.tests.steps;
+
+import com.automation.tests.driver.DriverManager;
+import com.automation.tests.pages.base.PageTiming;
+import com.automation.tests.pages.base.PageTimings;
+import io.cucumber.java.ParameterType;
+import io.cucumber.java.en.Then;
+import org.openqa.selenium.JavascriptExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Performance budgets on top of {@link PageTiming}:
+ * "Then the login page should load within 800 ms", "And the dashboard should make at most 20 requests",
+ * "And largest contentful paint should be under 1.5 s". Failures carry the full timing breakdown.
+ */
+public class PerformanceSteps {
+    private static final Logger log = LoggerFactory.getLogger(PerformanceSteps.class);
+    
+    // Timing of the last page a budget step looked at, used by the page-less steps (LCP, TTFB)
+    private PageTiming lastTiming;
+    
+    @ParameterType("the [a-zA-Z ]+?")
+    public String page(String name) {
+        return name;
+    }
+    
+    @Then("{page} should load within {int} ms")
+    public void shouldLoadWithin(String page, int millis) {
+        PageTiming timing = timingOf(page);
+        assertTrue(timing.getLoad() <= millis,
+                () -> String.format("%s took %.0f ms to load, budget %d ms%n%s", page, timing.getLoad(), millis, timing.breakdown()));
+    }
+    
+    @Then("{page} should make at most {int} requests")
+    public void shouldMakeAtMostRequests(String page, int requests) {
+        PageTiming timing = timingOf(page);
+        assertTrue(timing.getRequests() <= requests,
+                () -> String.format("%s made %d requests, budget %d%n%s", page, timing.getRequests(), requests, timing.breakdown()));
+    }
+    
+    @Then("largest contentful paint should be under {double} s")
+    public void largestContentfulPaintShouldBeUnder(double seconds) {
+        PageTiming timing = lastTiming();
+        Double lcp = timing.getLargestContentfulPaint();
+        assertNotNull(lcp, () -> "Browser reported no largest contentful paint\n" + timing.breakdown());
+        assertTrue(lcp <= seconds * 1000,
+                () -> String.format("Largest contentful paint %.0f ms, budget %.0f ms%n%s", lcp, seconds * 1000, timing.breakdown()));
+    }
+    
+    @Then("time to first byte should be under {int} ms")
+    public void timeToFirstByteShouldBeUnder(int millis) {
+        PageTiming timing = lastTiming();
+        assertTrue(timing.getTimeToFirstByte() <= millis,
+                () -> String.format("Time to first byte %.0f ms, budget %d ms%n%s", timing.getTimeToFirstByte(), millis, timing.breakdown()));
+    }
+    
+    // Pages opened through BasePage.open() already have a timing; otherwise (e.g. reached by
+    // submitting a form) the page is assumed to be the current document and measured now
+    private PageTiming timingOf(String page) {
+        PageTimings timings = PageTimings.current();
+        lastTiming = timings.get(page).orElseGet(() -> {
+            PageTiming timing = PageTiming.collect((JavascriptExecutor) DriverManager.getDriver());
+            timings.record(page, timing);
+            return timing;
+        });
+        log.info("{}: {}", page, lastTiming);
+        return lastTiming;
+    }
+    
+    private PageTiming lastTiming() {
+        if (lastTiming == null) {
+            lastTiming = PageTiming.collect((JavascriptExecutor) DriverManager.getDriver());
+        }
+        return lastTiming;
+    }
+}
@@ -0,0 +1,16 @@
+Feature: Secure Area
+  As a signed-in user
+  I want to use the secure area
+  So that I can reach protected features without logging in every time
+
+  Background:
+    Given I am logged in as "tomsmith" with password "SuperSecretPassword!"
+
+  @smoke
+  Scenario: Signed-in user sees the secure area
+    Then I should be redirected to the dashboard
+    And I should see a welcome message
+
+  Scenario: Signed-in user can log out
+    When I logout from the application
+    Then I should remain on the login page
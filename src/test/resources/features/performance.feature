@@ -0,0 +1,18 @@
+@performance
+Feature: Page Performance Budgets
+  As a product owner
+  I want page load regressions to fail the build
+  So that login stays fast for our users
+
+  Scenario: Login page loads within budget
+    Given I am on the login page
+    Then the login page should load within 3000 ms
+    And the login page should make at most 20 requests
+    And time to first byte should be under 1500 ms
+
+  Scenario: Dashboard loads within budget after login
+    Given I am on the login page
+    When I login with "tomsmith" and "SuperSecretPassword!"
+    Then the dashboard should load within 3000 ms
+    And the dashboard should make at most 20 requests
+    And largest contentful paint should be under 2.5 s